@@ -31,7 +31,7 @@ import org.osgl.storage.impl.SObject;
 import org.osgl.util.E;
 import org.osgl.util.IO;
 
-import java.io.File;
+import java.io.*;
 import java.net.URL;
 import java.util.Locale;
 
@@ -80,6 +80,75 @@ public abstract class ActResponse<T extends ActResponse> extends H.Response<T> {
         return me();
     }
 
+    /**
+     * Send a region of a file.
+     *
+     * @param file the file
+     * @param offset the position of the first byte to be sent
+     * @param length the number of bytes to be sent
+     * @return this response
+     */
+    public T send(File file, long offset, long length) {
+        return send(file, new long[]{offset}, new long[]{length}, null, null);
+    }
+
+    /**
+     * Send regions of a file.
+     *
+     * Each region is preceded by the bytes of `headers` at the same index,
+     * and `trailer` is written after the last region. This makes it possible
+     * to send a `multipart/byteranges` response.
+     *
+     * The `Content-Length` header is set by this method.
+     *
+     * @param file the file
+     * @param offsets the position of the first byte of each region
+     * @param lengths the number of bytes of each region
+     * @param headers the bytes to be written before each region, or `null`
+     * @param trailer the bytes to be written after the last region, or `null`
+     * @return this response
+     */
+    public T send(File file, long[] offsets, long[] lengths, byte[][] headers, byte[] trailer) {
+        contentLength(regionsLength(lengths, headers, trailer));
+        OutputStream os = outputStream();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] buf = new byte[8192];
+            for (int i = 0; i < offsets.length; ++i) {
+                if (null != headers) {
+                    os.write(headers[i]);
+                }
+                raf.seek(offsets[i]);
+                long remaining = lengths[i];
+                while (remaining > 0) {
+                    int n = raf.read(buf, 0, (int) Math.min(buf.length, remaining));
+                    if (n < 0) {
+                        throw new EOFException(file.getPath());
+                    }
+                    os.write(buf, 0, n);
+                    remaining -= n;
+                }
+            }
+            if (null != trailer) {
+                os.write(trailer);
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        afterWritingContent();
+        return me();
+    }
+
+    protected static long regionsLength(long[] lengths, byte[][] headers, byte[] trailer) {
+        long len = null == trailer ? 0 : trailer.length;
+        for (int i = 0; i < lengths.length; ++i) {
+            len += lengths[i];
+            if (null != headers) {
+                len += headers[i].length;
+            }
+        }
+        return len;
+    }
+
     @Override
     public T sendError(int sc, String msg) {
         throw E.unsupport();
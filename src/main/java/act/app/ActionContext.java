@@ -31,7 +31,9 @@ import act.controller.ParamNames;
 import act.controller.ResponseCache;
 import act.controller.captcha.CaptchaViolation;
 import act.data.MapUtil;
+import act.data.MultipartParts;
 import act.data.RequestBodyParser;
+import act.data.TextParser;
 import act.event.*;
 import act.handler.RequestHandler;
 import act.handler.builtin.controller.RequestHandlerProxy;
@@ -45,6 +47,7 @@ import act.session.SessionManager;
 import act.util.*;
 import act.view.RenderAny;
 import act.xio.undertow.UndertowRequest;
+import com.alibaba.fastjson.JSONObject;
 import org.osgl.$;
 import org.osgl.concurrent.ContextLocal;
 import org.osgl.http.H;
@@ -55,9 +58,15 @@ import org.osgl.storage.ISObject;
 import org.osgl.util.*;
 import org.osgl.web.util.UserAgent;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.*;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
@@ -125,6 +134,11 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     private Class<?> handlerClass;
     private RouteSource routeSource;
     private String patchedJsonBody;
+    // the single field name used to wrap the JSON body, see ReflectedHandlerInvoker
+    private String jsonBodyPatch;
+    private boolean jsonBodyFromBytes;
+    private JSONObject patchedJsonTree;
+    private byte[] bodyBytes;
     private boolean nonBlock;
     public act.metric.Timer handleTimer;
     // indicate the current context need to be kept for async thread to access
@@ -647,13 +661,134 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
 
     public ActionContext patchedJsonBody(String patchedJsonBody) {
         this.patchedJsonBody = patchedJsonBody;
+        this.patchedJsonTree = null;
         return this;
     }
 
     public String patchedJsonBody() {
+        if (null == patchedJsonBody) {
+            if (jsonBodyFromBytes) {
+                String body = body();
+                patchedJsonBody = null == jsonBodyPatch || null == body ? body : S.fmt("{\"%s\": %s}", jsonBodyPatch, body.trim());
+            } else if (null != patchedJsonTree) {
+                patchedJsonBody = patchedJsonTree.toJSONString();
+            }
+        }
         return patchedJsonBody;
     }
 
+    /**
+     * Set the name to wrap the JSON body with when it is parsed by
+     * {@link #parsePatchedJsonBody(Type)}
+     *
+     * @param name the single field name or `null` if the body need not be patched
+     * @return this context
+     */
+    public ActionContext jsonBodyPatch(String name) {
+        this.jsonBodyPatch = name;
+        this.jsonBodyFromBytes = true;
+        this.patchedJsonBody = null;
+        this.patchedJsonTree = null;
+        return this;
+    }
+
+    /**
+     * Parse the JSON request body into the type specified.
+     *
+     * The body is parsed from the raw bytes, if a {@link #jsonBodyPatch(String) patch}
+     * is set then the body is wrapped as `{"name": body}` on the fly.
+     *
+     * @param type the target type
+     * @param <T> the generic type of the target
+     * @return the object parsed from the JSON body
+     */
+    public <T> T parsePatchedJsonBody(Type type) {
+        if (null != patchedJsonBody) {
+            return com.alibaba.fastjson.JSON.parseObject(patchedJsonBody, type);
+        }
+        byte[] bytes = bodyBytes();
+        Charset charset = Charset.forName(req().characterEncoding());
+        if (null == jsonBodyPatch) {
+            return com.alibaba.fastjson.JSON.parseObject(bytes, 0, bytes.length, charset, type);
+        }
+        InputStream is = new SequenceInputStream(Collections.enumeration(Arrays.<InputStream>asList(
+                new ByteArrayInputStream(S.concat("{\"", jsonBodyPatch, "\": ").getBytes(charset)),
+                new ByteArrayInputStream(bytes),
+                new ByteArrayInputStream(new byte[]{'}'})
+        )));
+        try {
+            return com.alibaba.fastjson.JSON.parseObject(is, charset, type);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    /**
+     * Set the patched body tree directly, e.g. when it is read from
+     * an XML body
+     *
+     * @param tree the patched body tree
+     * @return this context
+     */
+    public ActionContext patchedJsonTree(JSONObject tree) {
+        this.patchedJsonTree = tree;
+        this.patchedJsonBody = null;
+        this.jsonBodyPatch = null;
+        this.jsonBodyFromBytes = false;
+        return this;
+    }
+
+    /**
+     * Returns the patched JSON body as a JSON object. The body is parsed
+     * only once for a request.
+     *
+     * @return the patched JSON body tree
+     */
+    public JSONObject patchedJsonTree() {
+        if (null == patchedJsonTree) {
+            patchedJsonTree = parsePatchedJsonBody(JSONObject.class);
+        }
+        return patchedJsonTree;
+    }
+
+    /**
+     * Returns the raw bytes of the request body. The body is read
+     * from the request input stream only once.
+     *
+     * Note this method shall not be used when the body has already
+     * been parsed as form data.
+     *
+     * @return the request body bytes
+     */
+    public byte[] bodyBytes() {
+        if (null == bodyBytes) {
+            bodyBytes = readBody();
+        }
+        return bodyBytes;
+    }
+
+    private byte[] readBody() {
+        InputStream is = req().inputStream();
+        long len = req().contentLength();
+        if (len < 0 || len > Integer.MAX_VALUE) {
+            return IO.readContent(is);
+        }
+        byte[] bytes = new byte[(int) len];
+        int off = 0;
+        try {
+            while (off < bytes.length) {
+                int n = is.read(bytes, off, bytes.length - off);
+                if (n < 0) {
+                    return Arrays.copyOf(bytes, off);
+                }
+                off += n;
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        return bytes;
+    }
+
     public H.Format accept() {
         return req().accept();
     }
@@ -885,6 +1020,10 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     }
 
     private String[] getBody(String name) {
+        if (null == bodyParams && !REQ_BODY.equals(name) && RequestBodyParser.get(request) instanceof TextParser) {
+            // text body contains nothing but REQ_BODY, no need to read it
+            return new String[0];
+        }
         Map<String, String[]> body = bodyParams();
         String[] sa = body.get(name);
         return null == sa ? new String[0] : sa;
@@ -908,6 +1047,21 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         return allParams;
     }
 
+    /**
+     * Returns the parts of the multipart request body for streaming processing.
+     *
+     * Once this method is called the request body will not be parsed into
+     * params and uploads.
+     *
+     * @return the parts of the request body
+     */
+    public MultipartParts multipartParts() {
+        E.illegalStateIf(null != bodyParams, "request body already consumed");
+        E.illegalStateIf(FORM_MULTIPART_DATA != request.contentType(), "not a multipart request");
+        bodyParams = new HashMap<>();
+        return MultipartParts.of(this);
+    }
+
     public ISObject upload(String name) {
         Integer index = attribute(ATTR_CURRENT_FILE_INDEX);
         if (null == index) {
@@ -1429,15 +1583,20 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         boolean sessionFree = handler.sessionFree() || sessionPassThrough;
         setWasUnauthenticated();
         H.Request req = req();
+        EventBus eventBus = app().eventBus();
         if (!sessionFree) {
             resolveSession(req);
-            app().eventBus().emit(new PreFireSessionResolvedEvent(session, this));
+            if (eventBus.hasListener(PreFireSessionResolvedEvent.class)) {
+                eventBus.emit(new PreFireSessionResolvedEvent(session, this));
+            }
             resolveFlash(req);
         }
         state = State.SESSION_RESOLVED;
         if (!sessionFree) {
             handler.prepareAuthentication(this);
-            app().eventBus().emit(new SessionResolvedEvent(session, this));
+            if (eventBus.hasListener(SessionResolvedEvent.class)) {
+                eventBus.emit(new SessionResolvedEvent(session, this));
+            }
             if (isLoggedIn()) {
                 clearWasUnauthenticated();
             }
@@ -1495,7 +1654,10 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
             session = new H.Session();
         }
         localeResolver.dissolve();
-        app().eventBus().emit(new SessionWillDissolveEvent(this));
+        EventBus eventBus = app().eventBus();
+        if (eventBus.hasListener(SessionWillDissolveEvent.class)) {
+            eventBus.emit(new SessionWillDissolveEvent(this));
+        }
         try {
             setCsrfCookieAndRenderArgs();
             sessionManager().dissolveState(session(), flash(), resp());
@@ -1503,7 +1665,9 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
 //            dissolveSession();
             state = State.SESSION_DISSOLVED;
         } finally {
-            app().eventBus().emit(new SessionDissolvedEvent(this));
+            if (eventBus.hasListener(SessionDissolvedEvent.class)) {
+                eventBus.emit(new SessionDissolvedEvent(this));
+            }
         }
     }
 
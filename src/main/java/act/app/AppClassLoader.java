@@ -70,7 +70,7 @@ public class AppClassLoader
 
     private final static Logger logger = L.get(AppClassLoader.class);
     private App app;
-    private Map<String, byte[]> libClsCache = new HashMap<>();
+    private ClassBytecodeIndex libClsCache = new ClassBytecodeIndex();
     private Map<String, byte[]> enhancedResourceCache = new HashMap<>();
     private ClassInfoRepository classInfoRepository;
     private boolean destroyed;
@@ -107,6 +107,18 @@ public class AppClassLoader
                 controllerInfo.mergeActionMetaInfo(app);
             }
         });
+        app.eventBus().bind(SysEventId.POST_START, new SysEventListenerBase() {
+
+            @Override
+            public String id() {
+                return "appClassLoader:releaseLibClassCache";
+            }
+
+            @Override
+            public void on(EventObject event) throws Exception {
+                releaseLibClassCache();
+            }
+        });
     }
 
     @Override
@@ -226,13 +238,17 @@ public class AppClassLoader
                 return new File(s);
             }
         }).sorted();
-        Map<String, byte[]> index = Jars.buildClassNameIndex(jars);
+        ClassBytecodeIndex index = Jars.buildClassIndex(jars);
         ClassInfoByteCodeScanner scanner = new ClassInfoByteCodeScanner(classInfoRepository());
         ByteCodeVisitor bv = scanner.byteCodeVisitor();
-        for (Map.Entry<String, byte[]> entry : index.entrySet()) {
-            byte[] ba = entry.getValue();
-            ClassReader cr = new ClassReader(ba);
-            cr.accept(bv, 0);
+        try {
+            for (Map.Entry<String, byte[]> entry : index.entrySet()) {
+                byte[] ba = entry.getValue();
+                ClassReader cr = new ClassReader(ba);
+                cr.accept(bv, 0);
+            }
+        } finally {
+            index.release();
         }
         fullClassGraphBuilt = true;
     }
@@ -294,7 +310,9 @@ public class AppClassLoader
                 logger.warn("Cannot find any bytecode for class: %s. You might have an empty Java source file for that.", className);
                 continue;
             }
-            libClsCache.put(className, ba);
+            if (!libClsCache.containsKey(className)) {
+                libClsCache.put(className, ba);
+            }
             act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
             List<ByteCodeVisitor> visitors = new ArrayList<>();
             List<AppByteCodeScanner> scanners = new ArrayList<>();
@@ -364,7 +382,9 @@ public class AppClassLoader
             }
             ByteCodeVisitor theVisitor = ByteCodeVisitor.chain(visitors);
             byte[] bytes = bytecodeProvider.apply(className);
-            libClsCache.put(className, bytes);
+            if (!libClsCache.containsKey(className)) {
+                libClsCache.put(className, bytes);
+            }
             ClassReader cr = new ClassReader(bytes);
             try {
                 cr.accept(theVisitor, 0);
@@ -405,10 +425,9 @@ public class AppClassLoader
     }
 
     private void preloadLib() {
-        final Map<String, byte[]> bytecodeIdx = new HashMap<>();
         final Map<String, Properties> jarConf = new HashMap<>();
         final $.Function<String, Boolean> ignoredClassNames = app().config().appClassTester().negate();
-        Jars.F.JarEntryVisitor classNameIndexBuilder = Jars.F.classNameIndexBuilder(bytecodeIdx, ignoredClassNames);
+        Jars.F.JarEntryVisitor classNameIndexBuilder = Jars.F.classIndexBuilder(libClsCache, ignoredClassNames);
         Jars.F.JarEntryVisitor confIndexBuilder = Jars.F.appConfigFileIndexBuilder(jarConf);
         ClassLoader parent = getParent();
         List<File> jars = C.list();
@@ -437,7 +456,6 @@ public class AppClassLoader
                 Jars.scan(jar, classNameIndexBuilder, confIndexBuilder);
             }
         }
-        libClsCache.putAll(bytecodeIdx);
         AppConfig config = app().config();
         config.loadJarProperties(jarConf);
     }
@@ -451,10 +469,19 @@ public class AppClassLoader
     }
 
     protected void preloadClassFile(File base, File file) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream((int) file.length());
-        IO.copy(IO.inputStream(file), baos);
-        byte[] bytes = baos.toByteArray();
-        libClsCache.put(ClassNames.sourceFileNameToClassName(base, file.getAbsolutePath().replace(".class", ".java")), bytes);
+        libClsCache.add(ClassNames.sourceFileNameToClassName(base, file.getAbsolutePath().replace(".class", ".java")), file);
+    }
+
+    /**
+     * Close the jar files opened to read lib classes once the app is started.
+     * Bytecode of the classes loaded after that will be read on demand.
+     */
+    protected void releaseLibClassCache() {
+        libClsCache.release();
+        ClassLoader parent = getParent();
+        if (parent instanceof FullStackAppBootstrapClassLoader) {
+            ((FullStackAppBootstrapClassLoader) parent).releaseLibBC();
+        }
     }
 
     protected byte[] loadAppClassFromDisk(String name) {
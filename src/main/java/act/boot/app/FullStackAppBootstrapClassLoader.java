@@ -79,7 +79,7 @@ public class FullStackAppBootstrapClassLoader extends BootstrapClassLoader imple
 
     private List<File> jars;
     private Long jarsChecksum;
-    private Map<String, byte[]> libBC = new HashMap<>();
+    private ClassBytecodeIndex libBC = new ClassBytecodeIndex();
     private List<Class<?>> actClasses = new ArrayList<>();
     private List<Class<?>> pluginClasses = new ArrayList<>();
     private String lineSeparator = OS.get().lineSeparator();
@@ -364,7 +364,15 @@ public class FullStackAppBootstrapClassLoader extends BootstrapClassLoader imple
     }
 
     private void buildIndex() {
-        libBC.putAll(Jars.buildClassNameIndex(jars()));
+        libBC = Jars.buildClassIndex(jars());
+    }
+
+    /**
+     * Close the jar files opened to read lib classes. The jar files
+     * will be reopened when there are lib classes to be loaded later on.
+     */
+    public void releaseLibBC() {
+        libBC.release();
     }
 
     @Override
@@ -30,5 +30,6 @@ public class RunServer {
         ServerBootstrapClassLoader classLoader = new ServerBootstrapClassLoader(RunServer.class.getClassLoader());
         Class<?> actClass = $.classForName("Act", classLoader);
         $.invokeStatic(actClass, "startServer");
+        classLoader.releaseBC();
     }
 }
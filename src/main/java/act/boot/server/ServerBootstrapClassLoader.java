@@ -26,6 +26,7 @@ import act.asm.ClassWriter;
 import act.boot.PluginClassProvider;
 import act.boot.app.FullStackAppBootstrapClassLoader;
 import act.util.ByteCodeVisitor;
+import act.util.ClassBytecodeIndex;
 import act.util.Jars;
 import org.osgl.$;
 import org.osgl.logging.L;
@@ -50,8 +51,8 @@ public class ServerBootstrapClassLoader extends ClassLoader implements PluginCla
     private File lib;
     private File plugin;
 
-    private Map<String, byte[]> libBC = new HashMap<>();
-    private Map<String, byte[]> pluginBC = new HashMap<>();
+    private ClassBytecodeIndex libBC = new ClassBytecodeIndex();
+    private ClassBytecodeIndex pluginBC = new ClassBytecodeIndex();
     private List<Class<?>> pluginClasses = new ArrayList<>();
 
     public ServerBootstrapClassLoader(ClassLoader parent) {
@@ -102,16 +103,25 @@ public class ServerBootstrapClassLoader extends ClassLoader implements PluginCla
     }
 
     private void buildIndex() {
-        libBC.putAll(Jars.buildClassNameIndex(lib));
-        pluginBC.putAll(Jars.buildClassNameIndex(plugin));
+        libBC = Jars.buildClassIndex(lib);
+        pluginBC = Jars.buildClassIndex(plugin);
         File actJar = Jars.probeJarFile(Act.class);
         if (null == actJar) {
             logger.warn("Cannot find jar file for Act");
         } else {
-            pluginBC.putAll(Jars.buildClassNameIndex(C.list(actJar)));
+            Jars.scan(actJar, Jars.F.classIndexBuilder(pluginBC, $.F.<String>no()));
         }
     }
 
+    /**
+     * Close the jar files opened to read lib and plugin classes. The jar
+     * files will be reopened when there are classes to be loaded later on.
+     */
+    public void releaseBC() {
+        libBC.release();
+        pluginBC.release();
+    }
+
     @Override
     protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
         Class<?> c = findLoadedClass(name);
@@ -206,7 +206,7 @@ public class CommandMethodMetaInfo extends LogSupportedDestroyableBase {
     }
 
     public CommandMethodMetaInfo propertySpec(PropertySpec.MetaInfo propertySpec) {
-        this.propertySpec = propertySpec;
+        this.propertySpec = null == propertySpec ? null : propertySpec.markDeclared();
         return this;
     }
 
@@ -22,6 +22,7 @@ package act.conf;
 
 import static act.conf.ActConfigKey.*;
 
+import act.util.ExecutionMode;
 import org.osgl.util.E;
 
 import java.io.File;
@@ -106,6 +107,19 @@ public class ActConfig extends Config<ActConfigKey> {
         return xioStatistics;
     }
 
+    private ExecutionMode executionMode;
+    public ExecutionMode executionMode() {
+        if (null == executionMode) {
+            String s = get(EXECUTION_MODE, "platform");
+            try {
+                executionMode = ExecutionMode.valueOf(s.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw E.invalidConfiguration("unknown execution.mode: %s", s);
+            }
+        }
+        return executionMode;
+    }
+
     private static void validateDir(File dir, String conf) {
         if (!dir.exists() || !dir.isDirectory() || !dir.canRead()) {
             E.invalidConfiguration("%s is not a valid directory: %s", conf, dir.getAbsolutePath());
@@ -97,6 +97,27 @@ public enum ActConfigKey implements ConfigKey {
      */
     XIO_STATISTICS("xio.statistics.enabled"),
 
+    /**
+     * `act.execution.mode`
+     *
+     * specifies how blocking work is executed, including request
+     * handlers dispatched from the network IO threads and jobs
+     * submitted to the job manager. Options:
+     *
+     * * `platform` - run on fixed size thread pools. The pool size of
+     *   request handlers is decided by the number of CPU cores or
+     *   `xio.worker_threads.max`, while the pool size of jobs is decided
+     *   by `job.pool.size`
+     * * `virtual` - run each task on a new virtual thread. Falls back to
+     *   `fork_join` when running on JDK prior to 21
+     * * `fork_join` - run on a work stealing `ForkJoinPool`
+     *
+     * Note scheduled jobs always run on the job manager's scheduler.
+     *
+     * Default value: `platform`
+     */
+    EXECUTION_MODE("execution.mode"),
+
     /**
      * {@code act.xio.impl} specifies the implementation for the network stack implementation
      */
@@ -1890,6 +1890,120 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean httpCompression;
+
+    protected T httpCompression(boolean enabled) {
+        httpCompression = enabled;
+        return me();
+    }
+
+    public boolean httpCompressionEnabled() {
+        if (null == httpCompression) {
+            httpCompression = get(HTTP_COMPRESSION_ENABLED, false);
+        }
+        return httpCompression;
+    }
+
+    private void _mergeHttpCompression(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_ENABLED)) {
+            httpCompression = conf.httpCompression;
+        }
+    }
+
+    private int httpCompressionLevel = -1;
+
+    protected T httpCompressionLevel(int level) {
+        E.illegalArgumentIf(level < 1 || level > 9, "compression level shall be between 1 and 9: %s", level);
+        this.httpCompressionLevel = level;
+        return me();
+    }
+
+    public int httpCompressionLevel() {
+        if (-1 == httpCompressionLevel) {
+            httpCompressionLevel = getInteger(HTTP_COMPRESSION_LEVEL, 6);
+            if (httpCompressionLevel < 1 || httpCompressionLevel > 9) {
+                throw new ConfigurationException("http.compression.level setting shall be between 1 and 9. Found: %s", httpCompressionLevel);
+            }
+        }
+        return httpCompressionLevel;
+    }
+
+    private void _mergeHttpCompressionLevel(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_LEVEL)) {
+            httpCompressionLevel = conf.httpCompressionLevel;
+        }
+    }
+
+    private Set<String> httpCompressionMimeTypes;
+
+    protected T httpCompressionMimeTypes(String mimeTypes) {
+        this.httpCompressionMimeTypes = parseMimeTypes(mimeTypes);
+        return me();
+    }
+
+    public Set<String> httpCompressionMimeTypes() {
+        if (null == httpCompressionMimeTypes) {
+            String s = get(HTTP_COMPRESSION_MIME_TYPES, "text/html,text/plain,text/css,text/csv,text/xml,text/javascript,application/javascript,application/json,application/xml,image/svg+xml");
+            httpCompressionMimeTypes = parseMimeTypes(s);
+        }
+        return httpCompressionMimeTypes;
+    }
+
+    /**
+     * Check if a content type is subject to response compression.
+     *
+     * @param contentType the content type, might have parameters like `charset`
+     * @return `true` if the content type is configured in {@link AppConfigKey#HTTP_COMPRESSION_MIME_TYPES}
+     */
+    public boolean isCompressible(String contentType) {
+        if (null == contentType) {
+            return false;
+        }
+        int pos = contentType.indexOf(';');
+        String mimeType = pos < 0 ? contentType : contentType.substring(0, pos);
+        return httpCompressionMimeTypes().contains(mimeType.trim().toLowerCase());
+    }
+
+    private static Set<String> parseMimeTypes(String s) {
+        Set<String> set = new HashSet<>();
+        for (String mimeType : S.fastSplit(s, ",")) {
+            if (S.notBlank(mimeType)) {
+                set.add(mimeType.trim().toLowerCase());
+            }
+        }
+        return set;
+    }
+
+    private void _mergeHttpCompressionMimeTypes(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_MIME_TYPES)) {
+            httpCompressionMimeTypes = conf.httpCompressionMimeTypes;
+        }
+    }
+
+    private int httpCompressionMinSize = -1;
+
+    protected T httpCompressionMinSize(int size) {
+        E.illegalArgumentIf(size < 0, "compression min size cannot be negative number: %s", size);
+        this.httpCompressionMinSize = size;
+        return me();
+    }
+
+    public int httpCompressionMinSize() {
+        if (-1 == httpCompressionMinSize) {
+            httpCompressionMinSize = getInteger(HTTP_COMPRESSION_MIN_SIZE, 1024);
+            if (httpCompressionMinSize < 0) {
+                throw new ConfigurationException("http.compression.min_size setting cannot be negative number. Found: %s", httpCompressionMinSize);
+            }
+        }
+        return httpCompressionMinSize;
+    }
+
+    private void _mergeHttpCompressionMinSize(AppConfig conf) {
+        if (!hasConfiguration(HTTP_COMPRESSION_MIN_SIZE)) {
+            httpCompressionMinSize = conf.httpCompressionMinSize;
+        }
+    }
+
     private int jobPoolSize = -1;
 
     protected T jobPoolSize(int size) {
@@ -3191,6 +3305,29 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Integer sessionCacheSize = null;
+
+    protected T sessionCacheSize(int size) {
+        E.illegalArgumentIf(size < 0, "session cache size shall not be negative");
+        sessionCacheSize = size;
+        return me();
+    }
+
+    public int sessionCacheSize() {
+        if (null == sessionCacheSize) {
+            int size = getInteger(AppConfigKey.SESSION_CACHE_SIZE, 0);
+            E.invalidConfigurationIf(size < 0, "session.cache.size shall not be negative");
+            sessionCacheSize = size;
+        }
+        return sessionCacheSize;
+    }
+
+    private void _mergeSessionCacheSize(AppConfig config) {
+        if (!hasConfiguration(AppConfigKey.SESSION_CACHE_SIZE)) {
+            sessionCacheSize = config.sessionCacheSize;
+        }
+    }
+
     private act.session.SessionMapper sessionMapper = null;
 
     protected void sessionMapper(act.session.SessionMapper sessionMapper) {
@@ -3730,6 +3867,49 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean resourceCacheMmap;
+
+    protected T resourceCacheMmap(boolean enabled) {
+        resourceCacheMmap = enabled;
+        return me();
+    }
+
+    public boolean resourceCacheMmap() {
+        if (null == resourceCacheMmap) {
+            resourceCacheMmap = get(RESOURCE_CACHE_MMAP, false);
+        }
+        return resourceCacheMmap;
+    }
+
+    private void _mergeResourceCacheMmap(AppConfig conf) {
+        if (!hasConfiguration(RESOURCE_CACHE_MMAP)) {
+            this.resourceCacheMmap = conf.resourceCacheMmap;
+        }
+    }
+
+    private Integer resourceCacheSizeLimit;
+
+    protected T resourceCacheSizeLimit(int limit) {
+        resourceCacheSizeLimit = limit;
+        return me();
+    }
+
+    public int resourceCacheSizeLimit() {
+        if (null == resourceCacheSizeLimit) {
+            resourceCacheSizeLimit = get(RESOURCE_CACHE_SIZE_LIMIT, 1024 * 1024 * 64);
+            if (resourceCacheSizeLimit <= 0) {
+                logger.warn("resource.cache.size.limit is set to zero or below, resource cache is disabled!");
+            }
+        }
+        return resourceCacheSizeLimit;
+    }
+
+    private void _mergeResourceCacheSizeLimit(AppConfig conf) {
+        if (!hasConfiguration(RESOURCE_CACHE_SIZE_LIMIT)) {
+            this.resourceCacheSizeLimit = conf.resourceCacheSizeLimit;
+        }
+    }
+
     private Integer resourcePreloadSizeLimit;
 
     protected T resourcePreloadSizeLimit(int limit) {
@@ -3837,6 +4017,72 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Boolean wsCompression;
+
+    protected T wsCompression(boolean enabled) {
+        this.wsCompression = enabled;
+        return me();
+    }
+
+    public boolean wsCompression() {
+        if (null == wsCompression) {
+            wsCompression = get(WS_COMPRESSION_ENABLED, false);
+        }
+        return wsCompression;
+    }
+
+    private void _mergeWsCompression(AppConfig config) {
+        if (!hasConfiguration(WS_COMPRESSION_ENABLED)) {
+            wsCompression = config.wsCompression;
+        }
+    }
+
+    private Integer wsCompressionLevel;
+
+    protected T wsCompressionLevel(int level) {
+        E.illegalArgumentIf(level < 1 || level > 9, "ws compression level shall be between 1 and 9");
+        this.wsCompressionLevel = level;
+        return me();
+    }
+
+    public int wsCompressionLevel() {
+        if (null == wsCompressionLevel) {
+            int level = getInteger(WS_COMPRESSION_LEVEL, 6);
+            E.invalidConfigurationIf(level < 1 || level > 9, "ws.compression.level shall be between 1 and 9");
+            wsCompressionLevel = level;
+        }
+        return wsCompressionLevel;
+    }
+
+    private void _mergeWsCompressionLevel(AppConfig config) {
+        if (!hasConfiguration(WS_COMPRESSION_LEVEL)) {
+            wsCompressionLevel = config.wsCompressionLevel;
+        }
+    }
+
+    private Integer wsMessageMaxSize;
+
+    protected T wsMessageMaxSize(int size) {
+        E.illegalArgumentIf(size < 0, "ws message max size shall not be negative");
+        this.wsMessageMaxSize = size;
+        return me();
+    }
+
+    public int wsMessageMaxSize() {
+        if (null == wsMessageMaxSize) {
+            int size = getInteger(WS_MESSAGE_MAX_SIZE, 0);
+            E.invalidConfigurationIf(size < 0, "ws.message.max_size shall not be negative");
+            wsMessageMaxSize = size;
+        }
+        return wsMessageMaxSize;
+    }
+
+    private void _mergeWsMessageMaxSize(AppConfig config) {
+        if (!hasConfiguration(WS_MESSAGE_MAX_SIZE)) {
+            wsMessageMaxSize = config.wsMessageMaxSize;
+        }
+    }
+
     private Integer wsPurgeClosedConnPeriod;
 
     protected T wsPurgeClosedConnPeriod(int period) {
@@ -3857,6 +4103,69 @@ public class AppConfig<T extends AppConfig> extends Config<AppConfigKey> impleme
         }
     }
 
+    private Integer wsSendQueueLimit;
+
+    protected T wsSendQueueLimit(int limit) {
+        E.illegalArgumentIf(limit < 0, "ws send queue limit shall not be negative");
+        this.wsSendQueueLimit = limit;
+        return me();
+    }
+
+    public int wsSendQueueLimit() {
+        if (null == wsSendQueueLimit) {
+            int limit = getInteger(WS_SEND_QUEUE_LIMIT, 1024);
+            E.invalidConfigurationIf(limit < 0, "ws.send_queue.limit shall not be negative");
+            wsSendQueueLimit = limit;
+        }
+        return wsSendQueueLimit;
+    }
+
+    private void _mergeWsSendQueueLimit(AppConfig config) {
+        if (!hasConfiguration(WS_SEND_QUEUE_LIMIT)) {
+            wsSendQueueLimit = config.wsSendQueueLimit;
+        }
+    }
+
+    private Boolean wsSendQueueOverflowClose;
+
+    protected T wsSendQueueOverflowClose(boolean close) {
+        this.wsSendQueueOverflowClose = close;
+        return me();
+    }
+
+    public boolean wsSendQueueOverflowClose() {
+        if (null == wsSendQueueOverflowClose) {
+            wsSendQueueOverflowClose = get(WS_SEND_QUEUE_OVERFLOW_CLOSE, false);
+        }
+        return wsSendQueueOverflowClose;
+    }
+
+    private void _mergeWsSendQueueOverflowClose(AppConfig config) {
+        if (!hasConfiguration(WS_SEND_QUEUE_OVERFLOW_CLOSE)) {
+            wsSendQueueOverflowClose = config.wsSendQueueOverflowClose;
+        }
+    }
+
+    private Boolean wsWorkerDispatch;
+
+    protected T wsWorkerDispatch(boolean enabled) {
+        this.wsWorkerDispatch = enabled;
+        return me();
+    }
+
+    public boolean wsWorkerDispatch() {
+        if (null == wsWorkerDispatch) {
+            wsWorkerDispatch = get(WS_WORKER_DISPATCH, false);
+        }
+        return wsWorkerDispatch;
+    }
+
+    private void _mergeWsWorkerDispatch(AppConfig config) {
+        if (!hasConfiguration(WS_WORKER_DISPATCH)) {
+            wsWorkerDispatch = config.wsWorkerDispatch;
+        }
+    }
+
     private Set<AppConfigurator> mergeTracker = C.newSet();
 
     public void loadJarProperties(Map<String, Properties> jarProperties) {
@@ -616,6 +616,44 @@ public enum AppConfigKey implements ConfigKey {
      */
     HOST("host"),
 
+    /**
+     * `act.http.compression.enabled` turns on content negotiated response
+     * compression.
+     *
+     * When enabled, responses with a {@link #HTTP_COMPRESSION_MIME_TYPES compressible}
+     * content type and no less than {@link #HTTP_COMPRESSION_MIN_SIZE} bytes
+     * are gzipped if the client accepts it. Static resources are served
+     * with their precompressed `.br` or `.gz` variants when available.
+     *
+     * Default value: `false`
+     */
+    HTTP_COMPRESSION_ENABLED("http.compression.enabled"),
+
+    /**
+     * `act.http.compression.level` specifies the gzip compression level, from `1`
+     * (best speed) to `9` (best compression)
+     *
+     * Default value: `6`
+     */
+    HTTP_COMPRESSION_LEVEL("http.compression.level"),
+
+    /**
+     * `act.http.compression.mime_types` specifies comma separated content types
+     * subject to response compression.
+     *
+     * Default value: `text/html,text/plain,text/css,text/csv,text/xml,text/javascript,application/javascript,application/json,application/xml,image/svg+xml`
+     */
+    HTTP_COMPRESSION_MIME_TYPES("http.compression.mime_types"),
+
+    /**
+     * `act.http.compression.min_size` specifies the minimum number of bytes of
+     * a response to be compressed. Response with unknown length is always
+     * subject to compression.
+     *
+     * Default value: `1024`
+     */
+    HTTP_COMPRESSION_MIN_SIZE("http.compression.min_size"),
+
     /**
      * `act.http.external_server.enabled` specify if the app is running behind a front end
      * http server
@@ -992,6 +1030,28 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOLVER_TEMPLATE_PATH("resolver.template_path.impl"),
 
+    /**
+     * `resource.cache.mmap.enabled`
+     *
+     * Specifies whether resources loaded from exploded resource folders
+     * are memory mapped instead of being copied into the resource cache
+     * (only impact prod mode)
+     *
+     * Default value: `false`
+     */
+    RESOURCE_CACHE_MMAP("resource.cache.mmap.enabled"),
+
+    /**
+     * `resource.cache.size.limit`
+     *
+     * Specifies the maximum number of bytes of all resources preloaded
+     * into memory. The least recently used resources are evicted when
+     * the limit is exceeded.
+     *
+     * Default value: `1024 * 1024 * 64`, i.e. 64MB
+     */
+    RESOURCE_CACHE_SIZE_LIMIT("resource.cache.size.limit.int"),
+
     /**
      *  `resource.filtering`
      *
@@ -1164,6 +1224,23 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_ENCRYPT_ENABLED("session.encrypt.enabled"),
 
+    /**
+     * `session.cache.size` specifies the maximum number of decoded
+     * session cookies kept in memory. When a request comes with a cookie
+     * that has been verified (and decrypted) recently, the session is
+     * restored from the cache instead of running the crypto again.
+     *
+     * Note the cookie changes whenever the session is updated, including
+     * the expiration timestamp, thus the cache mostly helps with
+     * encrypted sessions that do not expire, and with concurrent
+     * requests sent with the same cookie.
+     *
+     * Set to `0` to disable the cache.
+     *
+     * Default value: `0`
+     */
+    SESSION_CACHE_SIZE("session.cache.size"),
+
     /**
      * `act.session.key.username` specifies the session key for username
      *
@@ -1376,6 +1453,27 @@ public enum AppConfigKey implements ConfigKey {
      */
     VIEW_DEFAULT("view.default"),
 
+    /**
+     * `ws.compression.enabled`
+     *
+     * Specifies whether to negotiate the `permessage-deflate` extension
+     * with websocket clients. When negotiated, both incoming and outgoing
+     * messages are compressed.
+     *
+     * Default value: `false`
+     */
+    WS_COMPRESSION_ENABLED("ws.compression.enabled"),
+
+    /**
+     * `ws.compression.level`
+     *
+     * Specifies the deflate level, from `1` (fastest) to `9` (best compression),
+     * used when `permessage-deflate` is negotiated
+     *
+     * Default value: `6`
+     */
+    WS_COMPRESSION_LEVEL("ws.compression.level"),
+
     /**
      * `ws.key.ticket`
      *
@@ -1385,6 +1483,19 @@ public enum AppConfigKey implements ConfigKey {
      */
     WS_KEY_TICKET("ws.key.ticket"),
 
+    /**
+     * `ws.message.max_size`
+     *
+     * Specifies the maximum size in bytes of an incoming websocket message.
+     * A connection sending a message that exceeds the limit is closed with
+     * status code `1009`.
+     *
+     * Set to `0` to disable the limit.
+     *
+     * Default value: `0`
+     */
+    WS_MESSAGE_MAX_SIZE("ws.message.max_size"),
+
     /**
      * `ws.purge-closed-conn.period`
      *
@@ -1394,6 +1505,44 @@ public enum AppConfigKey implements ConfigKey {
      */
     WS_PURGE_CLOSED_CONN_PERIOD("ws.purge-closed-conn.period"),
 
+    /**
+     * `ws.send_queue.limit`
+     *
+     * Specifies the maximum number of outgoing messages pending on a
+     * websocket connection. Once the limit is reached, new messages
+     * to the connection are dropped or the connection is closed,
+     * depending on `ws.send_queue.overflow.close.enabled`
+     *
+     * Set to `0` to disable the limit.
+     *
+     * Default value: `1024`
+     */
+    WS_SEND_QUEUE_LIMIT("ws.send_queue.limit"),
+
+    /**
+     * `ws.send_queue.overflow.close.enabled`
+     *
+     * Specifies whether to close a websocket connection when its send
+     * queue is full. If disabled, messages are dropped until the
+     * client catches up.
+     *
+     * Default value: `false`
+     */
+    WS_SEND_QUEUE_OVERFLOW_CLOSE("ws.send_queue.overflow.close.enabled"),
+
+    /**
+     * `ws.worker_dispatch.enabled`
+     *
+     * Specifies whether to run websocket message handlers on worker threads
+     * instead of the network IO threads. Messages received on the same
+     * connection are still handled one by one in the order they arrive.
+     *
+     * Enable this if websocket handlers might block, e.g. access database.
+     *
+     * Default value: `false`
+     */
+    WS_WORKER_DISPATCH("ws.worker_dispatch.enabled"),
+
     /**
      * `x_forward_protocol`
      *
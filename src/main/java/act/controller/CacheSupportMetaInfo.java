@@ -34,6 +34,7 @@ public class CacheSupportMetaInfo {
     public boolean noCacheControl;
     public boolean etagOnly;
     public boolean noCache;
+    public int staleWhileRevalidate;
 
     private CacheSupportMetaInfo() {
     }
@@ -54,7 +55,8 @@ public class CacheSupportMetaInfo {
             boolean usePrivate,
             boolean noCacheControl,
             boolean etagOnly,
-            boolean noCache
+            boolean noCache,
+            int staleWhileRevalidate
     ) {
         CacheSupportMetaInfo meta = new CacheSupportMetaInfo();
         meta.enabled = true;
@@ -66,6 +68,7 @@ public class CacheSupportMetaInfo {
         meta.noCacheControl = noCacheControl;
         meta.etagOnly = etagOnly;
         meta.noCache = noCache;
+        meta.staleWhileRevalidate = Math.max(0, staleWhileRevalidate);
         return meta;
     }
 }
@@ -49,6 +49,8 @@ public class ResponseCache extends ActResponse implements Serializable {
     private WriterCache writerCache;
     private OutputCache outputCache;
     private boolean wroteDirectly;
+    // timestamp in ms after which the entry is stale, 0 means never
+    private long freshUntil;
 
     private transient ActResponse realResponse;
 
@@ -62,6 +64,24 @@ public class ResponseCache extends ActResponse implements Serializable {
         return this.etag;
     }
 
+    public ResponseCache freshUntil(long ts) {
+        this.freshUntil = ts;
+        return this;
+    }
+
+    /**
+     * Check if this cache entry is still fresh at the given time.
+     *
+     * An entry that is not fresh might still be served while
+     * another request is refreshing it.
+     *
+     * @param now the current timestamp in ms
+     * @return `true` if the entry is not stale yet
+     */
+    public boolean isFresh(long now) {
+        return 0 == freshUntil || now < freshUntil;
+    }
+
     public void applyTo(ActResponse response) {
         for (H.Cookie cookie : cookies.values()) {
             response.addCookie(cookie);
@@ -160,7 +160,7 @@ public abstract class HandlerMethodMetaInfo<T extends HandlerMethodMetaInfo> ext
     }
 
     public HandlerMethodMetaInfo propertySpec(PropertySpec.MetaInfo propertySpec) {
-        this.propertySpec = propertySpec;
+        this.propertySpec = null == propertySpec ? null : propertySpec.markDeclared();
         return this;
     }
 
@@ -33,6 +33,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
  * Provide the crypto relevant methods for application to use:
@@ -56,10 +59,16 @@ public class AppCrypto {
 
     protected static final Logger LOGGER = LogManager.get(AppCrypto.class);
 
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     private byte[] secret;
 
     private SecureRandom secureRandom = new SecureRandom();
 
+    // Mac instances are not thread safe, keep one per thread instead
+    // of creating and initializing a new one for each signature
+    private final ThreadLocal<Mac> macs = new ThreadLocal<>();
+
     protected AppCrypto() {}
 
     /**
@@ -94,6 +103,85 @@ public class AppCrypto {
         return Crypto.sign(message, secret);
     }
 
+    /**
+     * Returns signature of the UTF-8 encoded message stored in the given
+     * byte range.
+     *
+     * The result is the same as calling {@link #sign(String)} with the
+     * decoded message, but no intermediate string is created.
+     *
+     * @param message the buffer contains the message
+     * @param offset the offset of the message in the buffer
+     * @param length the length of the message
+     * @return the signature of the message
+     */
+    public String sign(byte[] message, int offset, int length) {
+        if (0 == secret.length) {
+            return new String(message, offset, length, StandardCharsets.UTF_8);
+        }
+        Mac mac = mac();
+        mac.update(message, offset, length);
+        byte[] digest = mac.doFinal();
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0, j = 0; i < digest.length; ++i) {
+            int b = digest[i];
+            hex[j++] = HEX[(b >> 4) & 0xF];
+            hex[j++] = HEX[b & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Check if the signature stored in a byte range matches the message
+     * stored in another byte range.
+     *
+     * The signature is expected to be in the format generated by
+     * {@link #sign(String)}, i.e. lower case hex string of the HMAC.
+     * The comparison runs in constant time regarding to the signature
+     * content.
+     *
+     * @param message the buffer contains the message
+     * @param offset the offset of the message in the buffer
+     * @param length the length of the message
+     * @param signature the buffer contains the signature
+     * @param sigOffset the offset of the signature in the buffer
+     * @param sigLength the length of the signature
+     * @return `true` if the signature matches the message
+     */
+    public boolean verifySignature(byte[] message, int offset, int length, byte[] signature, int sigOffset, int sigLength) {
+        if (0 == secret.length) {
+            String s = new String(signature, sigOffset, sigLength, StandardCharsets.UTF_8);
+            return S.eq(s, new String(message, offset, length, StandardCharsets.UTF_8));
+        }
+        Mac mac = mac();
+        if (sigLength != mac.getMacLength() * 2) {
+            return false;
+        }
+        mac.update(message, offset, length);
+        byte[] digest = mac.doFinal();
+        int diff = 0;
+        for (int i = 0, j = sigOffset; i < digest.length; ++i) {
+            int b = digest[i];
+            diff |= signature[j++] ^ HEX[(b >> 4) & 0xF];
+            diff |= signature[j++] ^ HEX[b & 0xF];
+        }
+        return 0 == diff;
+    }
+
+    private Mac mac() {
+        Mac mac = macs.get();
+        if (null == mac) {
+            try {
+                mac = Mac.getInstance("HmacSHA1");
+                mac.init(new SecretKeySpec(secret, "HmacSHA1"));
+            } catch (GeneralSecurityException e) {
+                throw E.unexpected(e);
+            }
+            macs.set(mac);
+        }
+        return mac;
+    }
+
     /**
      * Generate crypted hash of given password. This method is more secure than
      * {@link #passwordHash(String)} as it will fill the password char array
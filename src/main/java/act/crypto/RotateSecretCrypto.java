@@ -23,6 +23,8 @@ package act.crypto;
 import act.session.RotationSecretProvider;
 import org.osgl.util.S;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -31,6 +33,9 @@ public class RotateSecretCrypto extends AppCrypto {
 
     private RotationSecretProvider secretProvider;
     private boolean rotationEnabled;
+    // crypto instances of the recently used secrets, so that
+    // each secret's Mac is initialized only once per thread
+    private ConcurrentMap<String, AppCrypto> cryptos = new ConcurrentHashMap<>();
 
     @Inject
     public RotateSecretCrypto(RotationSecretProvider secretProvider) {
@@ -53,6 +58,29 @@ public class RotateSecretCrypto extends AppCrypto {
                 || S.eq(signature, next().sign(message));
     }
 
+    @Override
+    public String sign(byte[] message, int offset, int length) {
+        return !rotationEnabled ? super.sign(message, offset, length) : cur().sign(message, offset, length);
+    }
+
+    @Override
+    public boolean verifySignature(byte[] message, int offset, int length, byte[] signature, int sigOffset, int sigLength) {
+        if (!rotationEnabled) {
+            return super.verifySignature(message, offset, length, signature, sigOffset, sigLength);
+        }
+        return cur().verifySignature(message, offset, length, signature, sigOffset, sigLength)
+                || prev().verifySignature(message, offset, length, signature, sigOffset, sigLength)
+                || next().verifySignature(message, offset, length, signature, sigOffset, sigLength);
+    }
+
+    public boolean isRotationEnabled() {
+        return rotationEnabled;
+    }
+
+    public int secretGeneration() {
+        return !rotationEnabled ? 0 : secretProvider.generation();
+    }
+
     @Override
     public char[] passwordHash(char[] password) {
         return super.passwordHash(password);
@@ -100,14 +128,30 @@ public class RotateSecretCrypto extends AppCrypto {
     }
 
     private AppCrypto cur() {
-        return new AppCrypto(secretProvider.curSecret());
+        return crypto(secretProvider.curSecret());
     }
 
     private AppCrypto prev() {
-        return new AppCrypto(secretProvider.lastSecret());
+        return crypto(secretProvider.lastSecret());
     }
 
     private AppCrypto next() {
-        return new AppCrypto(secretProvider.nextSecret());
+        return crypto(secretProvider.nextSecret());
+    }
+
+    private AppCrypto crypto(String secret) {
+        AppCrypto crypto = cryptos.get(secret);
+        if (null == crypto) {
+            if (cryptos.size() > 8) {
+                // secrets rotated out, only cur, prev and next are in use
+                cryptos.clear();
+            }
+            crypto = new AppCrypto(secret);
+            AppCrypto existing = cryptos.putIfAbsent(secret, crypto);
+            if (null != existing) {
+                crypto = existing;
+            }
+        }
+        return crypto;
     }
 }
@@ -84,7 +84,29 @@ public class ApacheMultipartParser extends RequestBodyParser {
             throw new UnexpectedException(e);
         }
         return result;
-    }    // ---------------------------------------------------------- Class methods
+    }
+
+    /**
+     * Returns an iterator over the parts of the multipart request body.
+     *
+     * Unlike {@link #parse(ActionContext)} the part content is not stored,
+     * it is read from the request input stream as the part is consumed.
+     *
+     * @param context the action context
+     * @return the part iterator
+     */
+    FileItemIterator iterator(ActionContext context) {
+        H.Request request = context.req();
+        try {
+            return new FileItemIteratorImpl(request.inputStream(), request.header("content-type"), request.characterEncoding());
+        } catch (IOException e) {
+            throw E.ioException("Error when handling upload", e);
+        } catch (FileUploadException e) {
+            throw E.ioException("Error when handling upload", e);
+        }
+    }
+
+    // ---------------------------------------------------------- Class methods
     // ----------------------------------------------------- Manifest constants
     /**
      * HTTP content type header name.
@@ -69,6 +69,7 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
         extendedTerminators.clear();
         terminators.clear();
         repo.clear();
+        outputFieldsCache.clear();
     }
 
     /**
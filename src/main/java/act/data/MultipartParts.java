@@ -0,0 +1,176 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.ActionContext;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.osgl.util.E;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates through the parts of a multipart request body as they
+ * come from the network.
+ *
+ * Declare a parameter of this type on an action handler to process
+ * uploaded content in a streaming manner without storing it in memory or
+ * in temporary files first:
+ *
+ * ```java
+ * {@literal @}PostAction("/upload")
+ * public void upload(MultipartParts parts) throws IOException {
+ *     while (parts.hasNext()) {
+ *         MultipartParts.Part part = parts.next();
+ *         try (InputStream is = part.inputStream()) {
+ *             // process the part content
+ *         }
+ *     }
+ * }
+ * ```
+ *
+ * Note
+ *
+ * * a part must be consumed before moving to the next one, the
+ *   content of the previous part is no longer available once
+ *   {@link #hasNext()} or {@link #next()} is called
+ * * the handler shall not declare other parameters bound to the
+ *   request body, as the body can only be read once
+ */
+public class MultipartParts implements Iterator<MultipartParts.Part> {
+
+    private final FileItemIterator iterator;
+
+    MultipartParts(FileItemIterator iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return iterator.hasNext();
+        } catch (FileUploadException e) {
+            throw E.ioException("Error when handling upload", e);
+        } catch (IOException e) {
+            throw E.ioException("Error when handling upload", e);
+        }
+    }
+
+    @Override
+    public Part next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return new Part(iterator.next());
+        } catch (FileUploadException e) {
+            throw E.ioException("Error when handling upload", e);
+        } catch (IOException e) {
+            throw E.ioException("Error when handling upload", e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw E.unsupport();
+    }
+
+    /**
+     * Open the parts of the multipart request body of the action context.
+     *
+     * @param context the action context
+     * @return the parts
+     */
+    public static MultipartParts of(ActionContext context) {
+        return new MultipartParts(new ApacheMultipartParser().iterator(context));
+    }
+
+    /**
+     * A part of a multipart request body
+     */
+    public static class Part {
+
+        private final FileItemStream item;
+
+        Part(FileItemStream item) {
+            this.item = item;
+        }
+
+        /**
+         * Returns the name of the form field of this part
+         * @return the field name
+         */
+        public String fieldName() {
+            return item.getFieldName();
+        }
+
+        /**
+         * Returns the file name of this part
+         * @return the file name or `null` if this part is not a file upload
+         */
+        public String filename() {
+            return item.getName();
+        }
+
+        /**
+         * Returns the content type of this part
+         * @return the content type or `null` if not specified
+         */
+        public String contentType() {
+            return item.getContentType();
+        }
+
+        /**
+         * Check if this part is a simple form field
+         * @return `true` if this part is a form field
+         */
+        public boolean isFormField() {
+            return item.isFormField();
+        }
+
+        /**
+         * Returns an input stream reading the content of this part
+         * @return the input stream
+         */
+        public InputStream inputStream() {
+            try {
+                return item.openStream();
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+        }
+
+        /**
+         * Returns a channel reading the content of this part
+         * @return the channel
+         */
+        public ReadableByteChannel channel() {
+            return Channels.newChannel(inputStream());
+        }
+    }
+
+}
@@ -31,15 +31,30 @@ import org.osgl.util.S;
 import org.osgl.util.Str;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
+/**
+ * Caches the output fields calculated from a {@link PropertySpec.MetaInfo}
+ * and the type of the entities to be rendered.
+ *
+ * Output fields of specs declared on handler methods are indexed by the
+ * {@link PropertySpec.MetaInfo#identityKey(ActContext) identity key} of the
+ * spec and the component type, thus no key is created for lookup. Ad hoc
+ * specs, e.g. specified in request parameters, are indexed by the field
+ * lists, and the number of entries cached for them is bounded by
+ * {@link #MAX_ADHOC_ENTRIES}.
+ */
 class OutputFieldsCache {
 
+    static final int MAX_ADHOC_ENTRIES = 1024;
+
     // Key to index final output fields. Key includes:
     // 1. excluded - developer declared excluded field list
     // 2. outputs - developer declared output field list
     // 3. component type - the type of the entity where field data get extracted
-    private class K {
+    private static class K {
         Set<String> excluded;
         List<S.Pair> outputs;
         Class<?> componentType;
@@ -69,14 +84,53 @@ class OutputFieldsCache {
         }
     }
 
-    private Map<K, List<S.Pair>> cache = new HashMap<>();
+    // output fields of declared specs, indexed by spec identity key and then component type
+    private final ConcurrentMap<Object, ConcurrentMap<Class<?>, List<S.Pair>>> declared = new ConcurrentHashMap<>();
+
+    // output fields of ad hoc specs
+    private final ConcurrentMap<K, List<S.Pair>> adhoc = new ConcurrentHashMap<>();
 
     public List<S.Pair> getOutputFields(PropertySpec.MetaInfo spec, Class<?> componentClass, Object firstElement, ActContext context) {
+        Object identityKey = spec.identityKey(context);
+        if (null == identityKey) {
+            return adhocOutputFields(spec, componentClass, firstElement, context);
+        }
+        ConcurrentMap<Class<?>, List<S.Pair>> byType = declared.get(identityKey);
+        if (null == byType) {
+            ConcurrentMap<Class<?>, List<S.Pair>> newMap = new ConcurrentHashMap<>();
+            byType = declared.putIfAbsent(identityKey, newMap);
+            if (null == byType) {
+                byType = newMap;
+            }
+        }
+        List<S.Pair> outputs = byType.get(componentClass);
+        if (null == outputs) {
+            K k = new K(spec.excludedFields(context), spec.outputFieldsAndLabel(context), componentClass);
+            outputs = calculateOutputs(k, firstElement);
+            List<S.Pair> existing = byType.putIfAbsent(componentClass, outputs);
+            if (null != existing) {
+                outputs = existing;
+            }
+        }
+        return outputs;
+    }
+
+    void clear() {
+        declared.clear();
+        adhoc.clear();
+    }
+
+    private List<S.Pair> adhocOutputFields(PropertySpec.MetaInfo spec, Class<?> componentClass, Object firstElement, ActContext context) {
         K k = new K(spec.excludedFields(context), spec.outputFieldsAndLabel(context), componentClass);
-        List<S.Pair> outputs = cache.get(k);
+        List<S.Pair> outputs = adhoc.get(k);
         if (null == outputs) {
             outputs = calculateOutputs(k, firstElement);
-            cache.put(k, outputs);
+            if (adhoc.size() < MAX_ADHOC_ENTRIES) {
+                List<S.Pair> existing = adhoc.putIfAbsent(k, outputs);
+                if (null != existing) {
+                    outputs = existing;
+                }
+            }
         }
         return outputs;
     }
@@ -91,6 +145,10 @@ class OutputFieldsCache {
         Set<String> excluded = k.excluded;
         DataPropertyRepository repo = App.instance().service(DataPropertyRepository.class);
         List<S.Pair> allFields = repo.propertyListOf(k.componentType);
+        if (Map.class.isInstance(firstElement) || AdaptiveMap.class.isInstance(firstElement)) {
+            // the property list is shared, copy it before adding map keys
+            allFields = new ArrayList<>(allFields);
+        }
         if (AdaptiveMap.class.isInstance(firstElement)) {
             Set<String> mapped = new HashSet<>();
             for (S.Pair pair : allFields) {
@@ -0,0 +1,192 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.osgl.$;
+import org.osgl.OsglConfig;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Read XML content into JSON structure with StAX events.
+ *
+ * The result is the same as converting the XML {@link org.w3c.dom.Document}
+ * to {@link JSONObject} with osgl's `XmlDocumentToJsonObject`, but without
+ * building the DOM tree:
+ *
+ * * the root element is dropped, its children become the top level structure
+ * * an element with text content only is read as boolean, number or string
+ * * repeated elements are collected into a {@link JSONArray}
+ * * elements named with the list item tag are read as array items
+ * * attributes are ignored
+ */
+public class XmlToJsonReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private final String listItemTag;
+
+    public XmlToJsonReader() {
+        this(OsglConfig.xmlListItemTag());
+    }
+
+    public XmlToJsonReader(String listItemTag) {
+        this.listItemTag = S.requireNotBlank(listItemTag);
+    }
+
+    /**
+     * Read the XML content.
+     *
+     * @param bytes the XML content bytes
+     * @param encoding the character encoding
+     * @return a {@link JSONObject}, a {@link JSONArray} or a simple value read from the root element
+     */
+    public Object read(byte[] bytes, String encoding) {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(new ByteArrayInputStream(bytes), encoding);
+            while (reader.hasNext()) {
+                if (XMLStreamConstants.START_ELEMENT == reader.next()) {
+                    return readElement(reader);
+                }
+            }
+            return new JSONObject();
+        } catch (XMLStreamException e) {
+            throw E.unexpected(e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    // the reader is positioned at the start of the element, and
+    // will be positioned at the end of the element on return
+    private Object readElement(XMLStreamReader reader) throws XMLStreamException {
+        JSONObject obj = null;
+        List<Object> list = null;
+        boolean isList = false;
+        StringBuilder text = null;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (null == obj) {
+                        obj = new JSONObject();
+                    }
+                    String name = reader.getLocalName();
+                    Object value = readElement(reader);
+                    if (listItemTag.equals(name)) {
+                        isList = true;
+                        if (null == list) {
+                            list = new JSONArray();
+                        }
+                        list.add(value);
+                    } else if (obj.containsKey(name)) {
+                        Object existing = obj.get(name);
+                        if (existing instanceof List) {
+                            list = $.cast(existing);
+                        } else {
+                            list = new JSONArray();
+                            list.add(existing);
+                        }
+                        list.add(value);
+                        obj.put(name, list);
+                    } else {
+                        obj.put(name, value);
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (null == obj) {
+                        if (null == text) {
+                            text = new StringBuilder();
+                        }
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (null != obj) {
+                        return isList ? list : obj;
+                    }
+                    return null == text ? new JSONObject() : convert(text.toString());
+                default:
+                    // comments, processing instructions etc.
+            }
+        }
+        throw E.unexpected("Unexpected end of XML content");
+    }
+
+    private static Object convert(String s) {
+        if ("true".equals(s)) {
+            return Boolean.TRUE;
+        } else if ("false".equals(s)) {
+            return Boolean.FALSE;
+        }
+        if (S.isInt(s)) {
+            int len = s.length();
+            if (len <= 9) {
+                return Integer.parseInt(s);
+            }
+            try {
+                long l = Long.parseLong(s);
+                if (l <= Integer.MAX_VALUE && l >= Integer.MIN_VALUE) {
+                    return (int) l;
+                }
+                return l;
+            } catch (NumberFormatException e) {
+                return new BigInteger(s);
+            }
+        }
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return s;
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (null != reader) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+}
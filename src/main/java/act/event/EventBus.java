@@ -46,6 +46,7 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -528,14 +529,22 @@ public class EventBus extends AppServiceBase<EventBus> {
     private final ConcurrentMap<Key, List<SimpleEventListener>> asyncAdhocEventListeners;
 
     // so we can quickly identify if it needs to go ahead to look for listeners
-    private final Set<Class<?>> classesWithAdhocListeners = new HashSet<>();
-    private final Set<Enum> enumsWithAdhocListeners = new HashSet<>();
-    private final Set<String> stringsWithAdhocListeners = new HashSet<>();
-    private final Set<Class<? extends EventObject>> eventsWithActListeners = new HashSet<>();
+    private final Set<Class<?>> classesWithAdhocListeners = concurrentSet();
+    private final Set<Enum> enumsWithAdhocListeners = concurrentSet();
+    private final Set<String> stringsWithAdhocListeners = concurrentSet();
+    private final Set<Class<? extends EventObject>> eventsWithActListeners = concurrentSet();
+
+    // the immutable set of event types that have listeners bound on this
+    // bus or the once bus. It is built on POST_START and replaced on each
+    // binding after that. `null` means not built yet
+    private volatile Set<Class<?>> listenedEventTypes;
 
     // is this event bus for one time event listeners?
     private EventBus onceBus;
 
+    // the event bus owns this once bus
+    private EventBus parent;
+
     private EventBus(App app, boolean once) {
         super(app, true);
         sysEventLookup = initSysEventLookup(app);
@@ -553,6 +562,13 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (!once) {
             onceBus = new EventBus(app, true);
             onceBus.once = true;
+            onceBus.parent = this;
+            bind(SysEventId.POST_START, new SysEventListenerBase("build-listened-event-types") {
+                @Override
+                public void on(EventObject event) {
+                    buildListenedEventTypes();
+                }
+            });
         }
     }
 
@@ -784,6 +800,33 @@ public class EventBus extends AppServiceBase<EventBus> {
     public EventBus bindSync(final Class<? extends EventObject> eventType, final ActEventListener eventListener, int ttl) {
         return _bind(actEventListeners, eventType, eventListener, ttl);
     }
+    /**
+     * Check if there are any listeners bound to the event type specified.
+     *
+     * Caller can use this method to avoid constructing an event object
+     * when no one is listening to it.
+     *
+     * **Note** before the app started this method always returns `true`.
+     *
+     * @param eventType
+     *      the event type
+     * @return `false` if it is sure no listener bound to the event type
+     */
+    public boolean hasListener(Class<? extends EventObject> eventType) {
+        Set<Class<?>> types = listenedEventTypes;
+        return null == types || types.contains(eventType);
+    }
+
+    private boolean hasListenerFor(ActEvent<?> event) {
+        Set<Class<?>> types = listenedEventTypes;
+        return null == types || types.contains(event.eventType()) || types.contains(event.getClass());
+    }
+
+    private boolean hasListenerFor(EventObject event) {
+        Set<Class<?>> types = listenedEventTypes;
+        return null == types || types.contains(ActEvent.typeOf(event)) || types.contains(event.getClass());
+    }
+
     /**
      * Emit a system event by {@link SysEventId event ID}.
      *
@@ -964,6 +1007,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see SimpleEventListener
      */
     public EventBus emit(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -972,6 +1018,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emit(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -1033,6 +1082,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emitAsync(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -1042,6 +1094,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emitAsync(EventObject, Object...)
      */
     public EventBus emitAsync(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -1103,6 +1158,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emitSync(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextSync(event, args));
     }
 
@@ -1111,6 +1169,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emitSync(EventObject, Object...)
      */
     public EventBus emitSync(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextSync(event, args));
     }
 
@@ -1248,11 +1309,13 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    private synchronized EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> eventType, final ActEventListener listener, int ttl) {
-        eventsWithActListeners.add(eventType);
+    private EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> eventType, final ActEventListener listener, int ttl) {
+        if (eventsWithActListeners.add(eventType)) {
+            refreshListenedEventTypes();
+        }
         List<ActEventListener> list = listeners.get(eventType);
         if (null == list) {
-            List<ActEventListener> newList = new ArrayList<>();
+            List<ActEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(eventType, newList);
             if (null == list) {
                 list = newList;
@@ -1263,9 +1326,7 @@ public class EventBus extends AppServiceBase<EventBus> {
                 app().jobManager().delay(new Runnable() {
                     @Override
                     public void run() {
-                        synchronized (EventBus.this) {
-                            _unbind(listeners, eventType, listener);
-                        }
+                        _unbind(listeners, eventType, listener);
                     }
                 }, ttl, TimeUnit.SECONDS);
             }
@@ -1294,7 +1355,9 @@ public class EventBus extends AppServiceBase<EventBus> {
                         return this;
                     }
                 }
-                classesWithAdhocListeners.add(type);
+                if (classesWithAdhocListeners.add(type)) {
+                    refreshListenedEventTypes();
+                }
             } else if (key.idType == Key.IdType.ENUM) {
                 enumsWithAdhocListeners.add((Enum) event);
             } else {
@@ -1308,7 +1371,7 @@ public class EventBus extends AppServiceBase<EventBus> {
     private EventBus _bind(ConcurrentMap<Key, List<SimpleEventListener>> listeners, Key key, final SimpleEventListener eventListener) {
         List<SimpleEventListener> list = listeners.get(key);
         if (null == list) {
-            List<SimpleEventListener> newList = new ArrayList<>();
+            List<SimpleEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(key, newList);
             if (null == list) {
                 list = newList;
@@ -1361,9 +1424,9 @@ public class EventBus extends AppServiceBase<EventBus> {
         }
         final Object[] args = key.args;
         JobManager jobManager = async ? app().jobManager() : null;
-        for (final SimpleEventListener listener: C.list(list)) {
+        for (final SimpleEventListener listener: list) {
             if (async) {
-                jobManager.now(new Runnable() {
+                jobManager.async(new Runnable() {
                     @Override
                     public void run() {
                         callOn(listener, args);
@@ -1418,7 +1481,7 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    private synchronized EventBus _unbind(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
+    private EventBus _unbind(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
         List<ActEventListener> list = listeners.get(c);
         if (null != list) {
             list.remove(l);
@@ -1455,34 +1518,44 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (async) {
             jobManager = app().jobManager();
         }
-        Set<ActEventListener> toBeRemoved = C.newSet();
-        try {
-            for (final ActEventListener l : listeners) {
-                if (!async) {
-                    boolean result = callOn(event, l);
-                    if (result && once) {
-                        toBeRemoved.add(l);
+        for (final ActEventListener l : listeners) {
+            if (!async) {
+                if (!once) {
+                    callOn(event, l);
+                    continue;
+                }
+                if (!claim(l)) {
+                    // consumed by another emitting thread
+                    continue;
+                }
+                boolean result = false;
+                try {
+                    result = callOn(event, l);
+                } finally {
+                    release(l, result);
+                    if (result) {
+                        listeners.remove(l);
                     }
-                } else {
-                    jobManager.now(new Runnable() {
-                        @Override
-                        public void run() {
-                            callOn(event, l);
-                        }
-                    }, event instanceof SysEvent);
                 }
-            }
-        } catch (ConcurrentModificationException e) {
-            String eventName;
-            if (event instanceof SysEvent) {
-                eventName = event.toString();
             } else {
-                eventName = event.getClass().getName();
+                jobManager.async(new Runnable() {
+                    @Override
+                    public void run() {
+                        callOn(event, l);
+                    }
+                }, event instanceof SysEvent);
             }
-            throw E.unexpected("Concurrent modification issue encountered on handling event: " + eventName);
         }
-        if (once && !toBeRemoved.isEmpty()) {
-            listeners.removeAll(toBeRemoved);
+    }
+
+    // returns `true` if the current thread is the one claimed the listener
+    private static boolean claim(ActEventListener l) {
+        return !(l instanceof OnceEventListenerBase) || ((OnceEventListenerBase) l).claim();
+    }
+
+    private static void release(ActEventListener l, boolean handled) {
+        if (l instanceof OnceEventListenerBase) {
+            ((OnceEventListenerBase) l).release(handled);
         }
     }
 
@@ -1574,7 +1647,7 @@ public class EventBus extends AppServiceBase<EventBus> {
         int len = ids.length;
         List[] l = new List[len];
         for (int i = 0; i < len; ++i) {
-            l[i] = new ArrayList<>();
+            l[i] = new CopyOnWriteArrayList<>();
         }
         return l;
     }
@@ -1639,10 +1712,42 @@ public class EventBus extends AppServiceBase<EventBus> {
     }
 
 
+    private void refreshListenedEventTypes() {
+        if (null != parent) {
+            parent.refreshListenedEventTypes();
+        } else {
+            rebuildListenedEventTypes();
+        }
+    }
+
+    // check and rebuild with the same lock as the initial build, so a
+    // binding either happens before the initial build reads the listener
+    // sets or sees the set it has published
+    private synchronized void rebuildListenedEventTypes() {
+        if (null != listenedEventTypes) {
+            buildListenedEventTypes();
+        }
+    }
+
+    private synchronized void buildListenedEventTypes() {
+        Set<Class<?>> types = new HashSet<>();
+        types.addAll(eventsWithActListeners);
+        types.addAll(classesWithAdhocListeners);
+        if (null != onceBus) {
+            types.addAll(onceBus.eventsWithActListeners);
+            types.addAll(onceBus.classesWithAdhocListeners);
+        }
+        listenedEventTypes = Collections.unmodifiableSet(types);
+    }
+
     public static void classInit(App app) {
         Key.typeMap = app.createConcurrentMap();
     }
 
+    private static <T> Set<T> concurrentSet() {
+        return Collections.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+    }
+
 
     public static boolean isAsync(AnnotatedElement c) {
         Annotation[] aa = c.getAnnotations();
@@ -1658,12 +1763,21 @@ public class EventBus extends AppServiceBase<EventBus> {
         return eventId instanceof Class && isAsync((Class) eventId);
     }
 
+    // the list is a copy-on-write list, insert the element at the sorted
+    // position so readers never see the list unsorted
     private boolean addIntoListWithOrder(List list, Object element) {
-        if (!list.contains(element)) {
-            list.add(element);
-            Collections.sort(list, Sorter.COMPARATOR);
+        synchronized (list) {
+            if (list.contains(element)) {
+                return false;
+            }
+            int pos = 0;
+            for (int sz = list.size(); pos < sz; ++pos) {
+                if (Sorter.COMPARATOR.compare(list.get(pos), element) > 0) {
+                    break;
+                }
+            }
+            list.add(pos, element);
             return true;
         }
-        return false;
     }
 }
@@ -26,6 +26,13 @@ public abstract class OnceEventListenerBase<EVENT_TYPE extends EventObject>
         extends ActEventListenerBase<EVENT_TYPE>
         implements OnceEventListener<EVENT_TYPE> {
 
+    // guards owner and consumed, see EventBus
+    private final Object lock = new Object();
+    // the emitting thread calling the listener
+    private Thread owner;
+    // set once the event has been handled
+    private boolean consumed;
+
     public OnceEventListenerBase(CharSequence id) {
         super(id);
     }
@@ -38,4 +45,45 @@ public abstract class OnceEventListenerBase<EVENT_TYPE extends EventObject>
     public final void on(EVENT_TYPE event) throws Exception {
         tryHandle(event);
     }
+
+    /**
+     * Claim the listener for the current thread before calling it.
+     *
+     * If another thread is calling the listener, wait until it finishes,
+     * as the listener might decline that event and accept the event of
+     * the current thread.
+     *
+     * @return `true` if the current thread shall call the listener or
+     *         `false` if the listener has been consumed or is being called
+     *         by the current thread
+     */
+    final boolean claim() {
+        Thread current = Thread.currentThread();
+        synchronized (lock) {
+            while (null != owner) {
+                if (current == owner) {
+                    return false;
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    current.interrupt();
+                    return false;
+                }
+            }
+            if (consumed) {
+                return false;
+            }
+            owner = current;
+            return true;
+        }
+    }
+
+    final void release(boolean handled) {
+        synchronized (lock) {
+            owner = null;
+            consumed = consumed || handled;
+            lock.notifyAll();
+        }
+    }
 }
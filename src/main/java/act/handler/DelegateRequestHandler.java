@@ -21,6 +21,8 @@ package act.handler;
  */
 
 import act.app.ActionContext;
+import act.metric.Metric;
+import act.metric.MetricHandle;
 import act.security.CORS;
 import act.security.CSRF;
 import org.osgl.util.E;
@@ -96,6 +98,11 @@ public class DelegateRequestHandler extends RequestHandlerBase {
         handler_.prepareAuthentication(context);
     }
 
+    @Override
+    public MetricHandle metricHandle(Metric metric) {
+        return handler_.metricHandle(metric);
+    }
+
     @Override
     public RequestHandler realHandler() {
         return realHandler;
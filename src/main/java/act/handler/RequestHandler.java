@@ -23,6 +23,8 @@ package act.handler;
 import act.Destroyable;
 import act.app.ActionContext;
 import act.handler.builtin.FileGetter;
+import act.metric.Metric;
+import act.metric.MetricHandle;
 import act.security.CORS;
 import act.security.CSRF;
 import org.osgl.$;
@@ -132,4 +134,18 @@ public interface RequestHandler extends $.Function<ActionContext, Void>, Destroy
 
     boolean disableContentSecurityPolicy();
 
+    /**
+     * Returns the {@link MetricHandle} to time this handler.
+     *
+     * The handle is resolved from `metric` with the string representation
+     * of this handler. Implementations shall cache the handle resolved on the
+     * first call, the default implementation resolves it on each call.
+     *
+     * @param metric the metric from which the handle is resolved
+     * @return the metric handle of this handler
+     */
+    default MetricHandle metricHandle(Metric metric) {
+        return metric.handle(toString());
+    }
+
 }
@@ -21,6 +21,8 @@ package act.handler;
  */
 
 import act.app.ActionContext;
+import act.metric.Metric;
+import act.metric.MetricHandle;
 import act.security.CORS;
 import act.security.CSRF;
 import org.osgl.$;
@@ -39,6 +41,7 @@ public abstract class RequestHandlerBase extends $.F1<ActionContext, Void> imple
     private boolean sessionFree;
     private boolean requireContextResolving;
     private boolean express;
+    private volatile MetricHandle metricHandle;
 
     public RequestHandlerBase() {
         this.express = this instanceof ExpressHandler;
@@ -133,6 +136,16 @@ public abstract class RequestHandlerBase extends $.F1<ActionContext, Void> imple
         return false;
     }
 
+    @Override
+    public MetricHandle metricHandle(Metric metric) {
+        MetricHandle handle = metricHandle;
+        if (null == handle) {
+            handle = metric.handle(toString());
+            metricHandle = handle;
+        }
+        return handle;
+    }
+
     @Override
     public void destroy() {
         if (destroyed) return;
@@ -0,0 +1,144 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.S;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A satisfiable byte range of a `Range` request header
+ */
+class ByteRange {
+
+    private static final String UNIT = "bytes=";
+
+    // more ranges than this is treated as an abuse and the full content is served
+    static final int MAX_RANGES = 16;
+
+    final long start;
+    final long end;
+
+    ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Returns a random boundary for a `multipart/byteranges` response.
+     *
+     * The boundary contains only alphanumeric characters, which is
+     * always valid per RFC 2046 and needs not be quoted.
+     */
+    static String multipartBoundary() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    String contentRange(long size) {
+        return S.concat("bytes ", S.string(start), "-", S.string(end), "/", S.string(size));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof ByteRange) {
+            ByteRange that = (ByteRange) obj;
+            return that.start == start && that.end == end;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (start ^ (start >>> 32)) * 31 + (int) (end ^ (end >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return start + "-" + end;
+    }
+
+    /**
+     * Parse `Range` header value against a content of the given size.
+     *
+     * @param range the `Range` header value
+     * @param size the content size
+     * @return `null` if the header shall be ignored, i.e. the full content
+     *         shall be served; or an empty list if none of the ranges is
+     *         satisfiable; or the satisfiable ranges otherwise
+     */
+    static List<ByteRange> parse(String range, long size) {
+        if (null == range || !range.regionMatches(true, 0, UNIT, 0, UNIT.length())) {
+            return null;
+        }
+        List<String> specs = S.fastSplit(range.substring(UNIT.length()), ",");
+        if (specs.size() > MAX_RANGES) {
+            return null;
+        }
+        List<ByteRange> ranges = new ArrayList<>(specs.size());
+        try {
+            for (String spec : specs) {
+                spec = spec.trim();
+                int pos = spec.indexOf('-');
+                if (pos < 0) {
+                    return null;
+                }
+                String first = spec.substring(0, pos).trim();
+                String last = spec.substring(pos + 1).trim();
+                long start, end;
+                if (first.isEmpty()) {
+                    // suffix range: the last n bytes
+                    long n = Long.parseLong(last);
+                    if (n < 0) {
+                        return null;
+                    }
+                    if (n == 0 || size == 0) {
+                        continue;
+                    }
+                    start = Math.max(0, size - n);
+                    end = size - 1;
+                } else {
+                    start = Long.parseLong(first);
+                    end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                    if (start < 0 || end < start) {
+                        return null;
+                    }
+                    if (start >= size) {
+                        continue;
+                    }
+                    end = Math.min(end, size - 1);
+                }
+                ranges.add(new ByteRange(start, end));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return ranges;
+    }
+}
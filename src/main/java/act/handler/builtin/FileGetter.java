@@ -20,22 +20,41 @@ package act.handler.builtin;
  * #L%
  */
 
+import static org.osgl.http.H.Header.Names.*;
+
 import act.ActResponse;
 import act.app.ActionContext;
 import act.app.App;
 import act.handler.builtin.controller.FastRequestHandler;
 import org.osgl.$;
 import org.osgl.http.H;
+import org.osgl.util.E;
 import org.osgl.util.FastStr;
 import org.osgl.util.MimeType;
 import org.osgl.util.S;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class FileGetter extends FastRequestHandler {
 
+    // stop caching validators beyond this number for a huge folder
+    private static final int MAX_VALIDATORS = 1024 * 4;
+
     private File base;
     private FastRequestHandler delegate;
+    private final ConcurrentMap<String, Validator> validators = new ConcurrentHashMap<>();
 
     public FileGetter(String base, App app) {
         this(app.file(base));
@@ -96,9 +115,142 @@ public class FileGetter extends FastRequestHandler {
         fmt = contentType(file.getPath());
         resp.contentType(fmt);
         context.applyCorsSpec().applyContentSecurityPolicy().applyContentType();
+        H.Request req = context.req();
+        file = PrecompressedContent.variant(file, fmt, req, resp, context.config());
+        Validator validator = validator(file);
+        resp.header(ACCEPT_RANGES, "bytes").header(LAST_MODIFIED, validator.lastModified).etag(validator.etag);
+        if (validator.notModified(req)) {
+            AlwaysNotModified.INSTANCE.handle(context);
+            return;
+        }
+        String range = req.header(RANGE);
+        if (null != range && H.Method.GET == req.method() && validator.matchesIfRange(req.header(IF_RANGE))) {
+            List<ByteRange> ranges = ByteRange.parse(range, validator.size);
+            if (null != ranges) {
+                sendRanges(file, ranges, validator.size, resp);
+                return;
+            }
+        }
         resp.send(file);
     }
 
+    private void sendRanges(File file, List<ByteRange> ranges, long size, ActResponse resp) {
+        int n = ranges.size();
+        if (0 == n) {
+            resp.status(H.Status.REQUESTED_RANGE_NOT_SATISFIABLE.code());
+            resp.header(CONTENT_RANGE, "bytes */" + size);
+            resp.contentLength(0);
+            resp.writeContent("");
+            return;
+        }
+        resp.status(H.Status.PARTIAL_CONTENT.code());
+        long[] offsets = new long[n];
+        long[] lengths = new long[n];
+        for (int i = 0; i < n; ++i) {
+            ByteRange range = ranges.get(i);
+            offsets[i] = range.start;
+            lengths[i] = range.length();
+        }
+        if (1 == n) {
+            resp.header(CONTENT_RANGE, ranges.get(0).contentRange(size));
+            resp.send(file, offsets[0], lengths[0]);
+            return;
+        }
+        String boundary = ByteRange.multipartBoundary();
+        String partContentType = resp.lastContentType().contentType();
+        byte[][] headers = new byte[n][];
+        for (int i = 0; i < n; ++i) {
+            String header = S.concat("\r\n--", boundary, "\r\nContent-Type: ", partContentType, "\r\nContent-Range: ", ranges.get(i).contentRange(size), "\r\n\r\n");
+            headers[i] = header.getBytes(StandardCharsets.ISO_8859_1);
+        }
+        byte[] trailer = S.concat("\r\n--", boundary, "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        resp.header(CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        resp.send(file, offsets, lengths, headers, trailer);
+    }
+
+    private Validator validator(File file) {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        long size = attrs.size();
+        long mtime = attrs.lastModifiedTime().toMillis();
+        String key = file.getPath();
+        Validator validator = validators.get(key);
+        if (null != validator && validator.size == size && validator.mtime == mtime) {
+            return validator;
+        }
+        validator = new Validator(size, mtime);
+        if (validators.size() < MAX_VALIDATORS || validators.containsKey(key)) {
+            validators.put(key, validator);
+        }
+        return validator;
+    }
+
+    /**
+     * The cached validator of a file, which is used to generate
+     * `ETag` and `Last-Modified` headers and to evaluate
+     * conditional requests.
+     */
+    private static class Validator {
+        private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+        final long size;
+        final long mtime;
+        final String etag;
+        final String lastModified;
+
+        Validator(long size, long mtime) {
+            this.size = size;
+            this.mtime = mtime;
+            this.etag = S.concat("\"", Long.toHexString(size), "-", Long.toHexString(mtime), "\"");
+            this.lastModified = HTTP_DATE.format(Instant.ofEpochMilli(mtime));
+        }
+
+        boolean notModified(H.Request req) {
+            String ifNoneMatch = req.header(IF_NONE_MATCH);
+            if (null != ifNoneMatch) {
+                return etagMatches(ifNoneMatch);
+            }
+            String ifModifiedSince = req.header(IF_MODIFIED_SINCE);
+            if (null != ifModifiedSince) {
+                long since = parseDate(ifModifiedSince);
+                return since > 0 && mtime / 1000 <= since / 1000;
+            }
+            return false;
+        }
+
+        boolean matchesIfRange(String ifRange) {
+            if (null == ifRange) {
+                return true;
+            }
+            if (ifRange.startsWith("\"")) {
+                return etag.equals(ifRange.trim());
+            }
+            return mtime / 1000 == parseDate(ifRange) / 1000;
+        }
+
+        private boolean etagMatches(String ifNoneMatch) {
+            for (String tag : S.fastSplit(ifNoneMatch, ",")) {
+                tag = tag.trim();
+                if ("*".equals(tag) || etag.equals(tag) || (tag.startsWith("W/") && etag.equals(tag.substring(2)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long parseDate(String date) {
+            try {
+                return ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return -1;
+            }
+        }
+    }
+
     // for unit test
     public File base() {
         return base;
@@ -0,0 +1,238 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Header.Names.ACCEPT_ENCODING;
+import static org.osgl.http.H.Header.Names.CONTENT_ENCODING;
+import static org.osgl.http.H.Header.Names.VARY;
+
+import act.Act;
+import act.ActResponse;
+import act.conf.AppConfig;
+import act.util.EncodedETag;
+import org.osgl.http.H;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keep the compressed variants of a static content so they
+ * can be served without compressing on every request.
+ *
+ * Brotli variant comes from a `.br` file built alongside the
+ * content, e.g. at build time. Gzip variant comes from a `.gz`
+ * file if there is one, otherwise it is compressed once when
+ * the content is loaded.
+ */
+class PrecompressedContent {
+
+    static final String BROTLI = "br";
+    static final String GZIP = "gzip";
+
+    private final ByteBuffer brotli;
+    private final ByteBuffer gzip;
+
+    private PrecompressedContent(ByteBuffer brotli, ByteBuffer gzip) {
+        this.brotli = null == brotli ? null : brotli.asReadOnlyBuffer();
+        this.gzip = null == gzip ? null : gzip.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return the number of bytes held by the compressed variants
+     */
+    long weight() {
+        return (null == brotli ? 0 : brotli.remaining()) + (null == gzip ? 0 : gzip.remaining());
+    }
+
+    /**
+     * Write the best compressed variant accepted by the request.
+     *
+     * @param req the request
+     * @param resp the response
+     * @param etag the entity tag of the plain content, if set then the
+     *             compressed variant is tagged with its encoding
+     * @return `true` if a compressed variant has been written, or
+     *         `false` if the caller shall write the plain content
+     */
+    boolean writeTo(H.Request req, ActResponse<?> resp, String etag) {
+        resp.header(VARY, ACCEPT_ENCODING);
+        ByteBuffer buffer = null;
+        String encoding = null;
+        if (null != brotli && accepts(req, BROTLI)) {
+            buffer = brotli;
+            encoding = BROTLI;
+        } else if (null != gzip && accepts(req, GZIP)) {
+            buffer = gzip;
+            encoding = GZIP;
+        }
+        if (null == buffer) {
+            return false;
+        }
+        resp.header(CONTENT_ENCODING, encoding);
+        if (null != etag) {
+            resp.etag(EncodedETag.encode(etag, encoding));
+        }
+        resp.writeContent(buffer.duplicate());
+        return true;
+    }
+
+    /**
+     * Load the compressed variants of a static resource.
+     *
+     * @param target the resource URL
+     * @param content the resource content
+     * @param contentType the content type of the resource
+     * @param config the app config
+     * @return the compressed variants or `null` if the resource
+     *         is not subject to compression
+     */
+    static PrecompressedContent load(URL target, ByteBuffer content, H.Format contentType, AppConfig config) {
+        if (!config.httpCompressionEnabled()
+                || content.remaining() < config.httpCompressionMinSize()
+                || !config.isCompressible(contentType.contentType())) {
+            return null;
+        }
+        ByteBuffer brotli = loadVariant(target, ".br");
+        ByteBuffer gzip = loadVariant(target, ".gz");
+        if (null == gzip) {
+            gzip = ResourceGetter.directBuffer(gzip(content, config.httpCompressionLevel()));
+        }
+        if (gzip.remaining() >= content.remaining()) {
+            gzip = null;
+        }
+        return null == brotli && null == gzip ? null : new PrecompressedContent(brotli, gzip);
+    }
+
+    /**
+     * Find the precompressed file variant accepted by the request.
+     *
+     * If found, the `Content-Encoding` header is set on the response.
+     *
+     * @param file the file to be served
+     * @param contentType the content type of the file
+     * @param req the request
+     * @param resp the response
+     * @param config the app config
+     * @return the compressed file variant or `file` if not found
+     */
+    static File variant(File file, H.Format contentType, H.Request req, ActResponse<?> resp, AppConfig config) {
+        if (!config.httpCompressionEnabled() || !config.isCompressible(contentType.contentType())) {
+            return file;
+        }
+        resp.header(VARY, ACCEPT_ENCODING);
+        String path = file.getPath();
+        if (accepts(req, BROTLI)) {
+            File br = new File(path + ".br");
+            if (br.isFile()) {
+                resp.header(CONTENT_ENCODING, BROTLI);
+                return br;
+            }
+        }
+        if (accepts(req, GZIP)) {
+            File gz = new File(path + ".gz");
+            if (gz.isFile()) {
+                resp.header(CONTENT_ENCODING, GZIP);
+                return gz;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Check if the request `Accept-Encoding` header accepts the given encoding.
+     *
+     * @param req the request
+     * @param encoding the content encoding
+     * @return `true` if the encoding is accepted with a non-zero quality
+     */
+    static boolean accepts(H.Request req, String encoding) {
+        String acceptEncoding = req.header(ACCEPT_ENCODING);
+        if (S.blank(acceptEncoding)) {
+            return false;
+        }
+        for (String item : S.fastSplit(acceptEncoding, ",")) {
+            int pos = item.indexOf(';');
+            String name = (pos < 0 ? item : item.substring(0, pos)).trim();
+            if (encoding.equalsIgnoreCase(name) || "*".equals(name)) {
+                return pos < 0 || !zeroQuality(item.substring(pos + 1));
+            }
+        }
+        return false;
+    }
+
+    private static boolean zeroQuality(String params) {
+        for (String param : S.fastSplit(params, ";")) {
+            param = param.trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static byte[] gzip(ByteBuffer content, int level) {
+        if (content.hasArray()) {
+            return gzip(content.array(), content.arrayOffset() + content.position(), content.remaining(), level);
+        }
+        byte[] ba = new byte[content.remaining()];
+        content.duplicate().get(ba);
+        return gzip(ba, 0, ba.length, level);
+    }
+
+    static byte[] gzip(byte[] content, int offset, int length, final int level) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(content, offset, length);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    private static ByteBuffer loadVariant(URL target, String suffix) {
+        InputStream is;
+        try {
+            is = new URL(target.toExternalForm() + suffix).openStream();
+        } catch (IOException e) {
+            // variant not provided
+            return null;
+        }
+        try {
+            return ResourceGetter.directBuffer(IO.readContent(is));
+        } catch (RuntimeException e) {
+            Act.LOGGER.warn(e, "Error loading precompressed resource: %s%s", target.getPath(), suffix);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.App;
+import act.metric.Metric;
+import act.metric.MetricHandle;
+import act.metric.MetricInfo;
+import act.util.LogSupportedDestroyableBase;
+import org.osgl.http.H;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A byte budgeted in-memory cache of static resources shared
+ * by all {@link ResourceGetter resource getters} of an app.
+ *
+ * Lookup is lock free. Eviction follows the CLOCK (second chance)
+ * policy: an entry is marked on each hit and the sweep only evicts
+ * entries that have not been hit since the last sweep.
+ *
+ * In dev mode, an entry loaded from a file is dropped once the file
+ * has been changed.
+ */
+@Singleton
+public class ResourceCache extends LogSupportedDestroyableBase {
+
+    /**
+     * A cached resource. The content is held in a read-only buffer.
+     */
+    public static final class Entry {
+        final ByteBuffer buffer;
+        final H.Format contentType;
+        final String etag;
+        final PrecompressedContent precompressed;
+        final File source;
+        final long lastModified;
+        final long length;
+        final long weight;
+        volatile boolean referenced;
+
+        Entry(ByteBuffer buffer, H.Format contentType, String etag, PrecompressedContent precompressed, File source) {
+            this.buffer = buffer.asReadOnlyBuffer();
+            this.contentType = contentType;
+            this.etag = etag;
+            this.precompressed = precompressed;
+            this.source = source;
+            this.lastModified = null == source ? 0 : source.lastModified();
+            this.length = null == source ? 0 : source.length();
+            this.weight = buffer.remaining() + (null == precompressed ? 0 : precompressed.weight());
+        }
+
+        ByteBuffer content() {
+            return buffer.duplicate();
+        }
+
+        boolean isModified() {
+            return null != source && (source.lastModified() != lastModified || source.length() != length);
+        }
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final long capacity;
+    private final boolean checkModified;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final MetricHandle hitMetric;
+    private final MetricHandle missMetric;
+    private final MetricHandle evictMetric;
+
+    @Inject
+    public ResourceCache(App app) {
+        this(app.config().resourceCacheSizeLimit(), app.isDev(), Act.metricPlugin().metric(MetricInfo.RESOURCE_CACHE));
+    }
+
+    ResourceCache(long capacity, boolean checkModified, Metric metric) {
+        this.capacity = capacity;
+        this.checkModified = checkModified;
+        this.hitMetric = metric.handle("hit");
+        this.missMetric = metric.handle("miss");
+        this.evictMetric = metric.handle("evict");
+    }
+
+    @Override
+    protected void releaseResources() {
+        clear();
+    }
+
+    /**
+     * Get a cached resource.
+     *
+     * @param key the resource key
+     * @return the cached entry or `null` if not found
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (null != entry && checkModified && entry.isModified()) {
+            remove(key, entry);
+            entry = null;
+        }
+        if (null == entry) {
+            misses.increment();
+            missMetric.countOnce();
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        hitMetric.countOnce();
+        return entry;
+    }
+
+    /**
+     * Check if a resource is cached without affecting the
+     * hit statistics and eviction order.
+     *
+     * @param key the resource key
+     * @return `true` if the resource is cached
+     */
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Put a resource into the cache. The entry is not cached if
+     * it is bigger than the cache capacity.
+     *
+     * @param key the resource key
+     * @param entry the entry
+     * @return `true` if the entry is cached
+     */
+    public boolean put(String key, Entry entry) {
+        if (entry.weight > capacity) {
+            return false;
+        }
+        Entry old = entries.put(key, entry);
+        long delta = null == old ? entry.weight : entry.weight - old.weight;
+        if (weight.addAndGet(delta) > capacity) {
+            evict(key);
+        }
+        return true;
+    }
+
+    public void clear() {
+        entries.clear();
+        weight.set(0);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of bytes currently held by the cache
+     */
+    public long weight() {
+        return weight.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+        }
+    }
+
+    // the entry just put is spared from eviction
+    private synchronized void evict(String newKey) {
+        // the first pass clears the reference marks, the second pass
+        // evicts the entries that have not been hit in between
+        for (int pass = 0; pass < 2 && weight.get() > capacity; ++pass) {
+            Iterator<Map.Entry<String, Entry>> itr = entries.entrySet().iterator();
+            while (itr.hasNext() && weight.get() > capacity) {
+                Map.Entry<String, Entry> mapEntry = itr.next();
+                String key = mapEntry.getKey();
+                Entry entry = mapEntry.getValue();
+                if (key.equals(newKey)) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                } else {
+                    remove(key, entry);
+                    evictMetric.countOnce();
+                }
+            }
+        }
+    }
+}
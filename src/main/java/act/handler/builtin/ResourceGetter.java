@@ -41,6 +41,8 @@ import org.osgl.util.*;
 import java.io.*;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -61,20 +63,21 @@ public class ResourceGetter extends FastRequestHandler {
     private int preloadSizeLimit;
     private boolean isFolder;
     private ByteBuffer buffer;
+    private PrecompressedContent precompressed;
     private H.Format preloadedContentType;
     private boolean preloadFailure;
-    private boolean preloaded;
+    private volatile boolean preloaded;
     private String etag;
     private boolean filterResource;
     private volatile RequestHandler indexHandler;
+    private volatile ResourceCache resourceCache;
     private ConcurrentMap<String, RequestHandler> subFolderIndexHandlers = new ConcurrentHashMap<>();
 
-    private Set<URL> folders = new HashSet<>();
-    private Map<String, String> etags = new HashMap<>();
-    private Map<String, ByteBuffer> cachedBuffers = new HashMap<>();
-    private Map<String, H.Format> cachedContentType = new HashMap<>();
-    private Map<String, Boolean> cachedFailures = new HashMap<>();
-    private Set<String> largeResource = new HashSet<>();
+    private Set<URL> folders = ConcurrentHashMap.newKeySet();
+    private ConcurrentMap<String, String> etags = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, H.Format> cachedContentType = new ConcurrentHashMap<>();
+    private Set<String> cachedFailures = ConcurrentHashMap.newKeySet();
+    private Set<String> largeResource = ConcurrentHashMap.newKeySet();
 
     public ResourceGetter(String base) {
         E.illegalArgumentIf(S.blank(base), "empty resource string encountered");
@@ -109,8 +112,8 @@ public class ResourceGetter extends FastRequestHandler {
         }
         String path = context.__pathParamVal();
         return Act.isProd() &&
-                (cachedBuffers.containsKey(path)
-                        || cachedFailures.containsKey(path)
+                (resourceCache().contains(cacheKey(path))
+                        || cachedFailures.contains(path)
                         || (null != context.req().etag() && context.req().etagMatches(etags.get(path))));
     }
 
@@ -163,14 +166,16 @@ public class ResourceGetter extends FastRequestHandler {
                         resp
                                 .contentType(contentType)
                                 .header(CACHE_CONTROL, "max-age=86400")
-                                .etag(this.etag)
-                                .writeContent(buffer.duplicate());
+                                .etag(this.etag);
+                        if (null == precompressed || !precompressed.writeTo(req, resp, this.etag)) {
+                            resp.writeContent(buffer.duplicate());
+                        }
                     }
                 }
                 return;
             }
 
-            if (cachedFailures.containsKey(path)) {
+            if (cachedFailures.contains(path)) {
                 AlwaysNotFound.INSTANCE.handle(context);
                 return;
             }
@@ -188,14 +193,15 @@ public class ResourceGetter extends FastRequestHandler {
                 return;
             }
         }
-        ByteBuffer buffer = cachedBuffers.get(path);
-        if (null != buffer) {
-            context.resp()
-                    .contentType(cachedContentType.get(path))
-                    .commitContentType()
-                    .header(CACHE_CONTROL, "public, max-age=7200")
-                    .etag(etags.get(path))
-                    .writeContent(buffer.duplicate());
+        String cacheKey = cacheKey(path);
+        ResourceCache.Entry cached = resourceCache().get(cacheKey);
+        if (null != cached) {
+            ActResponse resp = context.resp();
+            resp.contentType(cached.contentType).commitContentType();
+            if (isProd) {
+                resp.header(CACHE_CONTROL, "public, max-age=7200").etag(cached.etag);
+            }
+            writeContent(cached, req, resp, cached.etag);
             return;
         }
         try {
@@ -254,20 +260,23 @@ public class ResourceGetter extends FastRequestHandler {
             if (isFile) {
                 File file = new File(target.getPath());
                 long len = file.length();
-                if (Act.isProd()) {
+                if (isProd) {
                     etags.put(path, String.valueOf(len));
-                    boolean smallResource = len < config.resourcePreloadSizeLimit();
-                    if (smallResource) {
-                        $.Var<String> etagBag = $.var();
-                        buffer = doPreload(target, etagBag);
-                        if (null == buffer) {
-                            cachedFailures.put(path, true);
-                            return;
+                }
+                // in dev mode only the resource served as is can be cached
+                boolean cacheable = isProd || !filterResource || FileGetter.isBinary(contentType);
+                if (cacheable && len < config.resourcePreloadSizeLimit()) {
+                    ResourceCache.Entry entry = load(target, file, contentType, String.valueOf(len));
+                    if (null == entry) {
+                        if (isProd) {
+                            cachedFailures.add(path);
                         }
-                        cachedBuffers.put(path, buffer);
-                        resp.writeContent(buffer.duplicate());
+                        AlwaysNotFound.INSTANCE.handle(context);
                         return;
                     }
+                    resourceCache().put(cacheKey, entry);
+                    writeContent(entry, req, resp, isProd ? etags.get(path) : null);
+                    return;
                 }
                 if (!filterResource || FileGetter.isBinary(contentType)) {
                     resp.send(file);
@@ -289,13 +298,11 @@ public class ResourceGetter extends FastRequestHandler {
                     if (Act.isProd()) {
                         etags.put(path, String.valueOf(n));
                         if (smallResource) {
-                            $.Var<String> etagBag = $.var();
-                            buffer = doPreload(target, etagBag);
-                            if (null == buffer) {
-                                cachedFailures.put(path, true);
+                            ResourceCache.Entry entry = load(target, null, contentType, String.valueOf(n));
+                            if (null == entry) {
+                                cachedFailures.add(path);
                             } else {
-                                cachedBuffers.put(path, buffer);
-                                cachedContentType.put(path, contentType);
+                                resourceCache().put(cacheKey, entry);
                             }
                         }
                     }
@@ -311,6 +318,27 @@ public class ResourceGetter extends FastRequestHandler {
         }
     }
 
+    private static void writeContent(ResourceCache.Entry entry, H.Request req, ActResponse resp, String etag) {
+        PrecompressedContent precompressed = entry.precompressed;
+        if (null == precompressed || !precompressed.writeTo(req, resp, etag)) {
+            resp.writeContent(entry.content());
+        }
+    }
+
+    private String cacheKey(String path) {
+        return S.blank(path) ? base : S.pathConcat(base, SEP, path);
+    }
+
+    private ResourceCache resourceCache() {
+        ResourceCache cache = resourceCache;
+        if (null == cache) {
+            cache = app.getInstance(ResourceCache.class);
+            resourceCache = cache;
+        }
+        return cache;
+    }
+
+
     private boolean preventFolderAccess(URL target, String path, ActionContext context) {
         RequestHandler folderHandler = subFolderIndexHandlers.get(path);
         if (null != folderHandler) {
@@ -372,26 +400,58 @@ public class ResourceGetter extends FastRequestHandler {
                 preloadFailure = true;
             } else {
                 this.etag = etagBag.get();
+                precompressed = PrecompressedContent.load(baseUrl, buffer, contentType, app.config());
             }
             preloadedContentType = contentType;
             preloaded = true;
         }
     }
 
+    private ResourceCache.Entry load(URL target, File file, H.Format contentType, String etag) {
+        ByteBuffer content;
+        AppConfig config = app.config();
+        if (null != file && Act.isProd() && config.resourceCacheMmap()) {
+            content = map(file);
+        } else {
+            $.Var<String> etagBag = $.var();
+            content = doPreload(target, etagBag);
+        }
+        if (null == content) {
+            return null;
+        }
+        PrecompressedContent precompressed = PrecompressedContent.load(target, content, contentType, config);
+        return new ResourceCache.Entry(content, contentType, etag, precompressed, file);
+    }
+
+    private ByteBuffer map(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            Act.LOGGER.warn(e, "Error mapping resource: %s", file.getPath());
+        }
+        return null;
+    }
+
     private ByteBuffer doPreload(URL target, $.Var<String> etagBag) {
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             IO.copy(target.openStream(), baos);
             byte[] ba = baos.toByteArray();
-            buffer = ByteBuffer.wrap(ba);
             etagBag.set(String.valueOf(Arrays.hashCode(ba)));
-            return buffer;
+            return directBuffer(ba);
         } catch (IOException e) {
-            Act.LOGGER.warn(e, "Error loading resource: %s", baseUrl.getPath());
+            Act.LOGGER.warn(e, "Error loading resource: %s", target.getPath());
         }
         return null;
     }
 
+    static ByteBuffer directBuffer(byte[] ba) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ba.length);
+        buffer.put(ba).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+
     private boolean resourceSizeIsOkay() {
         if (preloadSizeLimit <= 0) {
             return false;
@@ -51,6 +51,10 @@ import org.osgl.util.S;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -60,6 +64,13 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
 
     public static final String CACHE_NAME = "__action_proxy__";
 
+    // max seconds a request waits for another request filling the same cache key
+    private static final long CACHE_FILL_TIMEOUT = 10;
+
+    // max milliseconds the local copy of the cache generation token is used
+    // before it is refreshed from the cache service
+    static final long CACHE_GENERATION_CHECK_INTERVAL = 1000;
+
     private static Logger logger = L.get(RequestHandlerProxy.class);
 
     private static final List<BeforeInterceptor> globalBeforeInterceptors = new ArrayList<>();
@@ -83,7 +94,16 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
     private String actionMethodName;
     private String actionPath;
     private Method actionMethod;
-    private Set<String> cacheKeys = new HashSet<>();
+    // key of the cache generation token. The token is replaced on cache reset
+    // and folded into cache keys, so that reset does not need to track the keys
+    // ever generated. It is kept in the cache service so that all nodes sharing
+    // the cache see the reset, and a local copy is refreshed from there at most
+    // once every CACHE_GENERATION_CHECK_INTERVAL, so that building a cache key
+    // does not cost another round trip to the cache service
+    private String cacheGenerationKey;
+    private volatile String cacheGeneration;
+    private volatile long cacheGenerationCheckedAt;
+    private final ConcurrentMap<String, CountDownLatch> cacheFills = new ConcurrentHashMap<>();
 
     private volatile ControllerAction actionHandler = null;
     private List<BeforeInterceptor> beforeInterceptors = new ArrayList<>();
@@ -118,6 +138,7 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
         this.actionMethodName = actionMethodName.substring(pos + 1);
         E.illegalArgumentIf(S.isEmpty(this.actionMethodName), ERR, actionMethodName);
         this.actionPath = actionMethodName;
+        this.cacheGenerationKey = S.concat("act:cache-gen:", actionMethodName);
         if (app.classLoader() != null) {
             cache = app.config().cacheService(CACHE_NAME);
         } else {
@@ -184,24 +205,40 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
             return;
         }
         Result result = null;
+        String cacheKey = null;
+        CountDownLatch cacheFill = null;
         try {
             H.Method method = context.req().method();
             boolean supportCache = this.supportCache && method == GET || (cacheSupport.supportPost && method == POST);
-            String cacheKey = null;
             if (supportCache) {
                 context.enableCache();
                 if (!this.cacheSupport.etagOnly) {
-                    cacheKey = cacheSupport.cacheKey(context);
+                    cacheKey = cacheKey(context);
                     ResponseCache cached = this.cache.get(cacheKey);
-                    if (null != cached && cached.isValid()) {
-                        String etag = cached.etag();
-                        if (null != etag && context.req().etagMatches(etag)) {
-                            NotModified.of(etag).apply(context.req(), context.resp());
-                        } else {
-                            cached.applyTo(context.prepareRespForResultEvaluation());
-                        }
+                    boolean valid = null != cached && cached.isValid();
+                    if (valid && cached.isFresh($.ms())) {
+                        applyCache(cached, context);
                         return;
                     }
+                    // only one request runs the action to fill the cache of a key,
+                    // the others get the stale copy or wait for the fill
+                    cacheFill = new CountDownLatch(1);
+                    CountDownLatch inFlight = cacheFills.putIfAbsent(cacheKey, cacheFill);
+                    if (null != inFlight) {
+                        cacheFill = null;
+                        if (valid) {
+                            applyCache(cached, context);
+                            return;
+                        }
+                        // express handler might be running on IO thread, do not block it
+                        if (!express && awaitCacheFill(inFlight)) {
+                            cached = this.cache.get(cacheKey);
+                            if (null != cached && cached.isValid()) {
+                                applyCache(cached, context);
+                                return;
+                            }
+                        }
+                    }
                 }
             }
             saveActionPath(context);
@@ -242,8 +279,12 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
             }
             onResult(result, context);
             if (supportCache && !cacheSupport.etagOnly) {
-                this.cache.put(cacheKey, context.resp(), cacheSupport.ttl);
-                cacheKeys.add(cacheKey);
+                ActResponse<?> resp = context.resp();
+                int staleWindow = cacheSupport.staleWhileRevalidate;
+                if (staleWindow > 0 && resp instanceof ResponseCache) {
+                    ((ResponseCache) resp).freshUntil($.ms() + cacheSupport.ttl * 1000L);
+                }
+                this.cache.put(cacheKey, resp, cacheSupport.ttl + staleWindow);
             }
         } catch (Exception e) {
             try {
@@ -272,6 +313,10 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
                 }
             }
         } finally {
+            if (null != cacheFill) {
+                cacheFills.remove(cacheKey, cacheFill);
+                cacheFill.countDown();
+            }
             try {
                 handleFinally(context);
             } catch (Exception e) {
@@ -280,6 +325,39 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
         }
     }
 
+    private String cacheKey(ActionContext context) {
+        String key = cacheSupport.cacheKey(context);
+        String generation = cacheGeneration();
+        return null == generation ? key : S.concat(key, "#", generation);
+    }
+
+    private String cacheGeneration() {
+        long now = $.ms();
+        if (now - cacheGenerationCheckedAt > CACHE_GENERATION_CHECK_INTERVAL) {
+            cacheGenerationCheckedAt = now;
+            cacheGeneration = cache.get(cacheGenerationKey);
+        }
+        return cacheGeneration;
+    }
+
+    private void applyCache(ResponseCache cached, ActionContext context) {
+        String etag = cached.etag();
+        if (null != etag && context.req().etagMatches(etag)) {
+            NotModified.of(etag).apply(context.req(), context.resp());
+        } else {
+            cached.applyTo(context.prepareRespForResultEvaluation());
+        }
+    }
+
+    private static boolean awaitCacheFill(CountDownLatch cacheFill) {
+        try {
+            return cacheFill.await(CACHE_FILL_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     @Override
     public boolean sessionFree() {
         ensureAgentsReady();
@@ -308,11 +386,23 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
         return skipEvents;
     }
 
+    /**
+     * Reset the cache of this handler.
+     *
+     * Cached entries are not evicted: they become unreachable once
+     * the cache generation token is replaced and are left to expire.
+     *
+     * The token lives as long as the entries cached, thus when it expires
+     * all entries cached before the reset have expired as well. Other nodes
+     * sharing the cache service see the reset within
+     * {@link #CACHE_GENERATION_CHECK_INTERVAL} milliseconds.
+     */
     public void resetCache() {
         if (supportCache) {
-            for (String cacheKey : cacheKeys) {
-                cache.evict(cacheKey);
-            }
+            String token = UUID.randomUUID().toString().replace("-", "");
+            cache.put(cacheGenerationKey, token, cacheSupport.ttl + cacheSupport.staleWhileRevalidate);
+            cacheGeneration = token;
+            cacheGenerationCheckedAt = $.ms();
         }
     }
 
@@ -36,6 +36,8 @@ import act.controller.annotation.*;
 import act.controller.builtin.ThrottleFilter;
 import act.controller.captcha.RequireCaptcha;
 import act.controller.meta.*;
+import act.data.MultipartParts;
+import act.data.XmlToJsonReader;
 import act.data.annotation.DateFormatPattern;
 import act.data.annotation.Pattern;
 import act.db.RequireDataBind;
@@ -75,6 +77,7 @@ import org.w3c.dom.Document;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -149,6 +152,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
     private Class<? extends SerializeFilter> filters[];
     private SerializerFeature features[];
     private PropertyNamingStrategy propertyNamingStrategy;
+    private FastJsonSerializationPlan serializationPlan;
     private $.Function<ActionContext, Result> pluginBeforeHandler;
     private $.Func2<Result, ActionContext, Result> pluginAfterHandler;
     private Map<String, Object> attributes = new HashMap<>();
@@ -173,6 +177,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
     private boolean shallTransformReturnVal;
     private int order;
     private String xmlRootTag;
+    private XmlToJsonReader xmlReader;
     private List<JsonDtoPatch> dtoPatches = new ArrayList<>();
     private boolean hasDtoPatches;
     private Class<?> returnType;
@@ -190,6 +195,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
         this.paramLoaderService = app.service(ParamValueLoaderManager.class).get(ActionContext.class);
         this.jsonDTOClassManager = app.service(JsonDtoClassManager.class);
         this.xmlRootTag = config.xmlRootTag();
+        this.xmlReader = new XmlToJsonReader();
 
         Class[] paramTypes = paramTypes(app);
         method = $.getMethod(controllerClass, handlerMetaInfo.name(), paramTypes);
@@ -313,6 +319,9 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
         if (null != this.dateFormatPattern) {
             handlerMetaInfo.dateFormatPattern(this.dateFormatPattern);
         }
+        if (null != features || null != propertyNamingStrategy || null != dateFormatPattern) {
+            serializationPlan = new FastJsonSerializationPlan(features, propertyNamingStrategy, dateFormatPattern);
+        }
 
         if (controllerClass.isAnnotationPresent(ExpressController.class)) {
             sessionFree = true;
@@ -351,6 +360,9 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
         this.corsSpec = corsSpec;
 
         CSRF.Spec csrfSpec = CSRF.spec(method).chain(CSRF.spec(controllerClass));
+        if (Arrays.asList(method.getParameterTypes()).contains(MultipartParts.class)) {
+            csrfSpec = csrfSpec.headerOnly();
+        }
         this.csrfSpec = csrfSpec;
 
         CSP.Disable cspDisableAnno = getAnnotation(CSP.Disable.class);
@@ -556,7 +568,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
         }
 
         context.setReflectedHandlerInvoker(this);
-        if (!context.skipEvents()) {
+        if (!context.skipEvents() && app.eventBus().hasListener(ReflectedHandlerInvokerInvoke.class)) {
             app.eventBus().emit(new ReflectedHandlerInvokerInvoke(this, context));
         }
 
@@ -586,6 +598,10 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
             context.dateFormatPattern(dateFormatPattern);
         }
 
+        if (null != serializationPlan) {
+            context.fastjsonSerializationPlan(serializationPlan);
+        }
+
         if (byPassImplicityTemplateVariable && context.state().isHandling()) {
             context.byPassImplicitVariable();
         }
@@ -818,9 +834,22 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
             return;
         }
         try {
-            String patchedJsonBody = patchedJsonBody(context);
-            context.patchedJsonBody(patchedJsonBody);
-            JsonDto dto = JSON.parseObject(patchedJsonBody, dtoClass);
+            JsonDto dto;
+            byte[] body = context.bodyBytes();
+            int start = skipBlank(body, 0);
+            if (start == body.length) {
+                return;
+            }
+            if (context.xmlEncoded()) {
+                // bind from the tree read with StAX, see xmlBodyTree
+                JSONObject json = xmlBodyTree(context, body);
+                context.patchedJsonTree(json);
+                dto = json.toJavaObject(dtoClass);
+            } else {
+                // bind directly from the body bytes, see jsonBodyPatch
+                context.jsonBodyPatch(jsonBodyPatch(context, body, start));
+                dto = context.parsePatchedJsonBody(dtoClass);
+            }
             if (null != dto) {
                 patchDtoBeans(dto);
                 cacheJsonDto(context, dto);
@@ -869,58 +898,77 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
 
     /**
      * Suppose method signature is: `public void foo(Foo foo)`, and a JSON content is
-     * not `{"foo": {foo-content}}`, then wrap it as `{"foo": body}`
+     * not `{"foo": {foo-content}}`, then it shall be wrapped as `{"foo": body}`.
+     *
+     * Instead of rewriting the body it returns the name the body shall be
+     * wrapped with, see {@link ActionContext#parsePatchedJsonBody(java.lang.reflect.Type)}
+     *
+     * @return the single field name if the body needs to be patched or `null` otherwise
      */
-    private String patchedJsonBody(ActionContext context) {
-        String body = context.body();
-        if (!config.allowJsonBodyPatch() || S.blank(body)) {
-            return body;
-        }
-        if (context.xmlEncoded()) {
-            Document doc = XML.read(body);
-            JSONObject json = $.convert(doc).to(JSONObject.class);
-            body = JSON.toJSONString(json.containsKey(xmlRootTag) ? json.get(xmlRootTag) : json);
-        }
-        if (1 < fieldsAndParamsCount(context)) {
-            return body;
+    private String jsonBodyPatch(ActionContext context, byte[] body, int start) {
+        if (!config.allowJsonBodyPatch() || 1 < fieldsAndParamsCount(context)) {
+            return null;
         }
         String theName = singleJsonFieldName(context);
         if (null == theName) {
-            return body;
-        }
-        int theNameLen = theName.length();
-        body = body.trim();
-        boolean needPatch = body.charAt(0) == '[';
-        if (!needPatch) {
-            if (body.charAt(0) != '{') {
-                throw new IllegalArgumentException("Cannot parse JSON string: " + body);
+            return null;
+        }
+        Charset charset = Charset.forName(context.req().characterEncoding());
+        byte first = body[start];
+        if ('[' == first) {
+            return theName;
+        }
+        if ('{' != first) {
+            throw new IllegalArgumentException("Cannot parse JSON string: " + new String(body, charset).trim());
+        }
+        int i = skipBlank(body, start + 1);
+        if (i == body.length || '"' != body[i]) {
+            return null;
+        }
+        byte[] nameBytes = theName.getBytes(charset);
+        int nameStart = i + 1;
+        int nameEnd = nameStart + nameBytes.length;
+        if (nameEnd >= body.length) {
+            return theName;
+        }
+        for (int j = 0; j < nameBytes.length; ++j) {
+            if (body[nameStart + j] != nameBytes[j]) {
+                return theName;
             }
-            boolean startCheckName = false;
-            int nameStart = -1;
-            for (int i = 1; i < body.length(); ++i) {
-                char c = body.charAt(i);
-                if (c == ' ') {
-                    continue;
-                }
-                if (startCheckName) {
-                    int id = i - nameStart - 1;
-                    if (c == '"') {
-                        if (id < theNameLen) {
-                            needPatch = true;
-                        }
-                        break;
-                    }
-                    if (id >= theNameLen || theName.charAt(i - nameStart - 1) != c) {
-                        needPatch = true;
-                        break;
-                    }
-                } else if (c == '"') {
-                    startCheckName = true;
-                    nameStart = i;
-                }
+        }
+        return '"' == body[nameEnd] ? null : theName;
+    }
+
+    /**
+     * Read the XML body into a JSON tree without building the DOM, the
+     * body is patched the same way as JSON body, see
+     * {@link #jsonBodyPatch(ActionContext, byte[], int)}
+     */
+    private JSONObject xmlBodyTree(ActionContext context, byte[] body) {
+        Object tree = xmlReader.read(body, context.req().characterEncoding());
+        if (tree instanceof JSONObject && ((JSONObject) tree).containsKey(xmlRootTag)) {
+            tree = ((JSONObject) tree).get(xmlRootTag);
+        }
+        if (config.allowJsonBodyPatch() && 1 >= fieldsAndParamsCount(context)) {
+            String theName = singleJsonFieldName(context);
+            if (null != theName && !(tree instanceof JSONObject && ((JSONObject) tree).containsKey(theName))) {
+                JSONObject patched = new JSONObject();
+                patched.put(theName, tree);
+                return patched;
             }
         }
-        return needPatch ? S.fmt("{\"%s\": %s}", theName, body) : body;
+        if (!(tree instanceof JSONObject)) {
+            throw new IllegalArgumentException("Cannot parse XML content: " + tree);
+        }
+        return (JSONObject) tree;
+    }
+
+    private static int skipBlank(byte[] bytes, int from) {
+        int i = from;
+        while (i < bytes.length && bytes[i] <= ' ' && bytes[i] >= 0) {
+            i++;
+        }
+        return i;
     }
 
     private Class[] paramTypes(App app) {
@@ -996,7 +1044,8 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends Lo
                 cacheFor.usePrivate(),
                 cacheFor.noCacheControl(),
                 cacheFor.eTagOnly(),
-                cacheFor.noCache()
+                cacheFor.noCache(),
+                cacheFor.staleWhileRevalidate()
         );
     }
 
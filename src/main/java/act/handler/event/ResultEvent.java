@@ -23,6 +23,7 @@ package act.handler.event;
 import act.Act;
 import act.app.ActionContext;
 import act.event.ActEvent;
+import act.event.EventBus;
 import act.event.SystemEvent;
 import org.osgl.$;
 import org.osgl.exception.NotAppliedException;
@@ -61,8 +62,9 @@ public abstract class ResultEvent extends ActEvent<Result> implements SystemEven
                     ActionContext context = request.context();
                     try {
                         context.applyCorsSpec().applyContentSecurityPolicy().applyContentType(result);
-                        if (!context.skipEvents()) {
-                            context.app().eventBus().emit(new BeforeResultCommit(result, request, response));
+                        EventBus eventBus = context.app().eventBus();
+                        if (!context.skipEvents() && eventBus.hasListener(BeforeResultCommit.class)) {
+                            eventBus.emit(new BeforeResultCommit(result, request, response));
                         }
                     } catch (RuntimeException e) {
                         if (Act.isProd()) {
@@ -89,8 +91,9 @@ public abstract class ResultEvent extends ActEvent<Result> implements SystemEven
                     ActionContext context = request.context();
                     context.logAccess(response);
                     try {
-                        if (!context.skipEvents()) {
-                            context.app().eventBus().emit(new AfterResultCommit(result, request, response));
+                        EventBus eventBus = context.app().eventBus();
+                        if (!context.skipEvents() && eventBus.hasListener(AfterResultCommit.class)) {
+                            eventBus.emit(new AfterResultCommit(result, request, response));
                         }
                     } catch (RuntimeException e) {
                         if (Act.isProd()) {
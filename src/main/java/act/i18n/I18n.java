@@ -23,6 +23,8 @@ package act.i18n;
 import act.Act;
 import act.act_messages;
 import act.app.App;
+import act.metric.Metric;
+import act.metric.MetricInfo;
 import act.util.ActContext;
 import org.osgl.$;
 import org.osgl.exception.NotAppliedException;
@@ -33,7 +35,6 @@ import org.osgl.util.S;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.text.MessageFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 
@@ -43,6 +44,8 @@ public class I18n {
 
     public static final String DEF_RESOURCE_BUNDLE_NAME = "messages";
 
+    private static volatile MessageCache messageCache = new MessageCache(Metric.NULL_METRIC);
+
     public static Locale locale() {
         ActContext context = ActContext.Base.currentContext();
         return null != context ? context.locale(true) : Act.appConfig().locale();
@@ -87,60 +90,42 @@ public class I18n {
         if (bundleName.startsWith("act.")) {
             bundleName = act_messages.class.getName();
         }
-        ResourceBundle bundle;
-        String msg = msgId;
-        try {
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            if (null == classLoader) {
-                classLoader = I18n.class.getClassLoader();
-            }
-            App app = Act.app();
-            if (null != app && null != app.classLoader()) {
-                classLoader = app.classLoader();
-            }
-            bundle = ResourceBundle.getBundle(bundleName, $.requireNotNull(locale), classLoader);
-        } catch (MissingResourceException e) {
+        MessageCache.Bundle bundle = messageCache.bundle(bundleName, $.requireNotNull(locale), classLoader());
+        if (null == bundle) {
             if (!ignoreError) {
                 logger.warn("Cannot find bundle: %s", bundleName);
             }
-            bundle = null;
+        } else if (!ignoreError && !bundle.contains(msgId)) {
+            logger.warn("Cannot find i18n message key: %s", msgId);
         }
-        if (null != bundle) {
-            if (ignoreError) {
-                if (bundle.containsKey(msgId)) {
-                    msg = bundle.getString(msgId);
-                }
+        int len = args.length;
+        if (0 == len) {
+            String msg = null == bundle ? null : bundle.get(msgId);
+            return null == msg ? msgId : msg;
+        }
+        Object[] resolvedArgs = new Object[len];
+        for (int i = 0; i < len; ++i) {
+            Object arg = args[i];
+            if (arg instanceof String) {
+                resolvedArgs[i] = _i18n(true, locale, bundleName, (String) arg);
             } else {
-                try {
-                    msg = bundle.getString(msgId);
-                } catch (MissingResourceException e) {
-                    logger.warn("Cannot find i18n message key: %s", msgId);
-                }
+                resolvedArgs[i] = arg;
             }
         }
-        int len = args.length;
-        if (len > 0) {
-            Object[] resolvedArgs = new Object[len];
-            for (int i = 0; i < len; ++i) {
-                Object arg = args[i];
-                if (arg instanceof String) {
-                    resolvedArgs[i] = _i18n(true, locale, bundleName, (String) arg);
-                } else {
-                    resolvedArgs[i] = arg;
-                }
-            }
-            if (msg.contains("%")) {
-                // try String.format first
-                String result = S.fmt(msg, resolvedArgs);
-                if (S.neq(result, msg)) {
-                    return result;
-                }
-            }
-            MessageFormat formatter = new MessageFormat(msg, locale);
-            msg = formatter.format(resolvedArgs);
+        MessageCache.Message message = null == bundle ? null : messageCache.message(bundle, msgId);
+        if (null == message) {
+            message = new MessageCache.Message(msgId, locale);
         }
+        return message.format(resolvedArgs);
+    }
 
-        return msg;
+    private static ClassLoader classLoader() {
+        App app = Act.app();
+        if (null != app && null != app.classLoader()) {
+            return app.classLoader();
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return null == classLoader ? I18n.class.getClassLoader() : classLoader;
     }
 
     public static String i18n(Enum<?> msgId) {
@@ -245,6 +230,9 @@ public class I18n {
 
     public static void classInit(App app) {
         enumPropertyGetterCache = app.createConcurrentMap();
+        messageCache = new MessageCache(Act.metricPlugin().metric(MetricInfo.I18N));
+        // preload the default bundle of the default locale
+        messageCache.bundle(DEF_RESOURCE_BUNDLE_NAME, app.config().locale(), classLoader());
     }
 
     private static Map<String, $.Function<Object, Object>> enumPropertyGetters(Class<? extends Enum> enumClass) {
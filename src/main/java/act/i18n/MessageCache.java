@@ -0,0 +1,241 @@
+package act.i18n;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.metric.Metric;
+import act.metric.MetricHandle;
+import org.osgl.util.S;
+
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache resource bundles as flat immutable maps and the messages
+ * compiled from them.
+ *
+ * The flat maps are keyed by the locale of the resolved bundle, thus the
+ * number of them is bounded by the bundle files. The bundles looked up by
+ * the requested locale, which might come from the client, share the flat
+ * maps; at most {@link #MAX_BUNDLES} of them are kept, and all of them are
+ * evicted once the limit is reached, after which they are rebuilt on demand
+ * from the flat maps.
+ */
+class MessageCache {
+
+    static final int MAX_BUNDLES = 256;
+
+    /**
+     * A message resolved from a bundle. The {@link MessageFormat} is
+     * parsed on the first format call and copied for each call after
+     * that as it is not thread safe.
+     */
+    static final class Message {
+        final String text;
+        private final Locale locale;
+        private final boolean hasPercent;
+        private volatile MessageFormat format;
+
+        Message(String text, Locale locale) {
+            this.text = text;
+            this.locale = locale;
+            this.hasPercent = text.contains("%");
+        }
+
+        String format(Object[] args) {
+            if (hasPercent) {
+                // try String.format first
+                String result = S.fmt(text, args);
+                if (S.neq(result, text)) {
+                    return result;
+                }
+            }
+            MessageFormat format = this.format;
+            if (null == format) {
+                format = new MessageFormat(text, locale);
+                this.format = format;
+            }
+            return ((MessageFormat) format.clone()).format(args);
+        }
+    }
+
+    static final class Bundle {
+        private final Locale locale;
+        private final Map<String, String> messages;
+        private final ConcurrentMap<String, Message> compiled = new ConcurrentHashMap<>();
+
+        Bundle(Map<String, String> messages, Locale locale) {
+            this.locale = locale;
+            this.messages = messages;
+        }
+
+        boolean contains(String key) {
+            return messages.containsKey(key);
+        }
+
+        String get(String key) {
+            return messages.get(key);
+        }
+    }
+
+    // flat maps keyed by bundle name and then the locale of the bundle resolved
+    private final ConcurrentMap<String, ConcurrentMap<Locale, Map<String, String>>> flatMaps = new ConcurrentHashMap<>();
+    // bundles keyed by bundle name and then the locale requested
+    private final ConcurrentMap<String, ConcurrentMap<Locale, Bundle>> bundles = new ConcurrentHashMap<>();
+    // bundles not found, keyed by bundle name
+    private final ConcurrentMap<String, Set<Locale>> missing = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final MetricHandle hitMetric;
+    private final MetricHandle missMetric;
+
+    MessageCache(Metric metric) {
+        this.hitMetric = metric.handle("hit");
+        this.missMetric = metric.handle("miss");
+    }
+
+    /**
+     * Returns the bundle of the name and locale specified.
+     *
+     * @param name the bundle name
+     * @param locale the locale
+     * @param classLoader the class loader to load the bundle
+     * @return the bundle or `null` if not found
+     */
+    Bundle bundle(String name, Locale locale, ClassLoader classLoader) {
+        ConcurrentMap<Locale, Bundle> map = bundles.get(name);
+        if (null != map) {
+            Bundle bundle = map.get(locale);
+            if (null != bundle) {
+                return bundle;
+            }
+        }
+        Set<Locale> notFound = missing.get(name);
+        if (null != notFound && notFound.contains(locale)) {
+            return null;
+        }
+        Bundle bundle;
+        try {
+            bundle = new Bundle(flatMap(name, ResourceBundle.getBundle(name, locale, classLoader)), locale);
+        } catch (MissingResourceException e) {
+            reserve();
+            if (null == notFound) {
+                missing.putIfAbsent(name, Collections.newSetFromMap(new ConcurrentHashMap<Locale, Boolean>()));
+                notFound = missing.get(name);
+            }
+            if (!notFound.add(locale)) {
+                size.decrementAndGet();
+            }
+            return null;
+        }
+        reserve();
+        map = bundles.get(name);
+        if (null == map) {
+            ConcurrentMap<Locale, Bundle> newMap = new ConcurrentHashMap<>();
+            map = bundles.putIfAbsent(name, newMap);
+            if (null == map) {
+                map = newMap;
+            }
+        }
+        Bundle existing = map.putIfAbsent(locale, bundle);
+        if (null != existing) {
+            size.decrementAndGet();
+            return existing;
+        }
+        return bundle;
+    }
+
+    /**
+     * Returns the compiled message of the key in the bundle.
+     *
+     * @param bundle the bundle
+     * @param key the message key
+     * @return the message or `null` if the key is not found in the bundle
+     */
+    Message message(Bundle bundle, String key) {
+        Message message = bundle.compiled.get(key);
+        if (null != message) {
+            hitMetric.countOnce();
+            return message;
+        }
+        String text = bundle.get(key);
+        if (null == text) {
+            return null;
+        }
+        missMetric.countOnce();
+        Message newMessage = new Message(text, bundle.locale);
+        message = bundle.compiled.putIfAbsent(key, newMessage);
+        return null == message ? newMessage : message;
+    }
+
+    private Map<String, String> flatMap(String name, ResourceBundle resourceBundle) {
+        ConcurrentMap<Locale, Map<String, String>> map = flatMaps.get(name);
+        if (null == map) {
+            ConcurrentMap<Locale, Map<String, String>> newMap = new ConcurrentHashMap<>();
+            map = flatMaps.putIfAbsent(name, newMap);
+            if (null == map) {
+                map = newMap;
+            }
+        }
+        Locale locale = resourceBundle.getLocale();
+        Map<String, String> messages = map.get(locale);
+        if (null == messages) {
+            Map<String, String> flat = new HashMap<>();
+            for (String key : resourceBundle.keySet()) {
+                Object val = resourceBundle.getObject(key);
+                if (val instanceof String) {
+                    flat.put(key, (String) val);
+                }
+            }
+            messages = Collections.unmodifiableMap(flat);
+            Map<String, String> existing = map.putIfAbsent(locale, messages);
+            if (null != existing) {
+                messages = existing;
+            }
+        }
+        return messages;
+    }
+
+    // evict all bundles looked up by requested locale once the limit
+    // is reached. Concurrent lookups might push the count slightly over
+    // the limit, which is fine for a cache
+    private void reserve() {
+        if (size.incrementAndGet() > MAX_BUNDLES) {
+            bundles.clear();
+            missing.clear();
+            size.set(1);
+        }
+    }
+
+    int bundleCount() {
+        return size.get();
+    }
+
+    int flatMapCount() {
+        int n = 0;
+        for (Map<Locale, Map<String, String>> map : flatMaps.values()) {
+            n += map.size();
+        }
+        return n;
+    }
+
+}
@@ -21,6 +21,7 @@ package act.inject.param;
  */
 
 import act.app.App;
+import act.data.MultipartParts;
 import act.inject.DefaultValue;
 import act.inject.HeaderVariable;
 import act.inject.SessionVariable;
@@ -61,6 +62,10 @@ class ActionContextParamLoader extends ParamValueLoaderService {
             return new PartialPathLoader(bindName);
         }
 
+        if (MultipartParts.class == spec.rawType()) {
+            return new MultipartPartsLoader(bindName);
+        }
+
         DefaultValue def = spec.getAnnotation(DefaultValue.class);
 
         Class<?> rawType = spec.rawType();
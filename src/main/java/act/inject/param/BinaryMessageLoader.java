@@ -0,0 +1,76 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.ActContext;
+import act.ws.WebSocketContext;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Load the payload of the current websocket message into a
+ * `ByteBuffer` or `byte[]` typed parameter.
+ *
+ * The `ByteBuffer` loaded is a read-only view of the payload and
+ * is only valid during the handler method call.
+ */
+class BinaryMessageLoader extends ParamValueLoader.NonCacheable {
+
+    private final String bindName;
+    private final boolean byteArray;
+
+    BinaryMessageLoader(String bindName, boolean byteArray) {
+        this.bindName = bindName;
+        this.byteArray = byteArray;
+    }
+
+    @Override
+    public String toString() {
+        return S.concat("binary message loader[", bindName(), "]");
+    }
+
+    @Override
+    public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
+        E.illegalStateIfNot(context instanceof WebSocketContext, "Not in a websocket context");
+        WebSocketContext wsCtx = (WebSocketContext) context;
+        ByteBuffer payload = wsCtx.binaryMessage();
+        if (null == payload) {
+            String text = wsCtx.stringMessage();
+            byte[] ba = null == text ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+            return byteArray ? ba : ByteBuffer.wrap(ba).asReadOnlyBuffer();
+        }
+        if (byteArray) {
+            byte[] ba = new byte[payload.remaining()];
+            payload.duplicate().get(ba);
+            return ba;
+        }
+        return payload.asReadOnlyBuffer();
+    }
+
+    @Override
+    public String bindName() {
+        return bindName;
+    }
+
+}
@@ -26,7 +26,6 @@ import act.app.App;
 import act.app.data.StringValueResolverManager;
 import act.inject.DependencyInjector;
 import act.util.ActContext;
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import org.osgl.$;
 import org.osgl.inject.BeanSpec;
@@ -85,8 +84,7 @@ class JsonParamValueLoader implements ParamValueLoader {
             }
             if (context instanceof ActionContext) {
                 if (key.contains(".")) {
-                    String body = ((ActionContext) context).patchedJsonBody();
-                    JSONObject json = JSON.parseObject(body);
+                    JSONObject json = ((ActionContext) context).patchedJsonTree();
                     o = $.getProperty(json, key);
                 }
             }
@@ -21,6 +21,9 @@ package act.inject.param;
  */
 
 import act.app.App;
+import org.osgl.inject.BeanSpec;
+
+import java.nio.ByteBuffer;
 
 /**
  * Responsible for loading param value for {@link act.app.ActionContext}
@@ -31,4 +34,15 @@ class WebSocketContextParamLoader extends ActionContextParamLoader {
         super(app);
     }
 
+    @Override
+    protected ParamValueLoader findContextSpecificLoader(String bindName, BeanSpec spec) {
+        Class<?> rawType = spec.rawType();
+        if (byte[].class == rawType) {
+            return new BinaryMessageLoader(bindName, true);
+        } else if (ByteBuffer.class == rawType) {
+            return new BinaryMessageLoader(bindName, false);
+        }
+        return super.findContextSpecificLoader(bindName, spec);
+    }
+
 }
@@ -199,6 +199,20 @@ public class JobContext extends ActContext.Base<JobContext> {
         return ctxt;
     }
 
+    /**
+     * Make a copy of JobContext of current thread only if there is something
+     * to carry, i.e. current thread has a non empty job context or is
+     * running in an {@link ActContext}
+     * @return the copy of current job context or `null` if nothing to copy
+     */
+    static JobContext copyIfNotEmpty() {
+        JobContext current = current_.get();
+        if ((null == current || current.bag_.isEmpty()) && null == ActContext.Base.currentContext()) {
+            return null;
+        }
+        return copy();
+    }
+
     /**
      * Initialize current thread's JobContext using specified copy
      * @param origin the original job context
@@ -26,6 +26,7 @@ import act.Act;
 import act.Destroyable;
 import act.app.*;
 import act.app.event.SysEventId;
+import act.conf.ActConfig;
 import act.event.OnceEventListenerBase;
 import act.event.SysEventListenerBase;
 import act.mail.MailerContext;
@@ -50,9 +51,15 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     public static final String SYS_JOB_MARKER = "__act_sys__";
 
+    private static final String ASYNC_TASK_ID = "__act_async__";
+
+    private static final String SYS_ASYNC_TASK_ID = SYS_JOB_MARKER + "async";
+
     private static final Logger LOGGER = LogManager.get(JobManager.class);
 
     private ScheduledThreadPoolExecutor executor;
+    // runs jobs submitted for immediate execution when execution mode is not platform
+    private ExecutorService workers;
     private ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<String, Job>();
     private ConcurrentMap<Method, Job> methodIndex = new ConcurrentHashMap<>();
     private ConcurrentMap<String, ScheduledFuture> scheduled = new ConcurrentHashMap<>();
@@ -87,6 +94,9 @@ public class JobManager extends AppServiceBase<JobManager> {
         jobs.clear();
         executor.getQueue().clear();
         executor.shutdownNow();
+        if (null != workers) {
+            workers.shutdownNow();
+        }
     }
 
     public JobExceptionListenerManager exceptionListenerManager() {
@@ -99,7 +109,7 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     public <T> Future<T> now(String jobId, final Callable<T> callable) {
         final Job job = wrap(jobId, callable);
-        return executor().submit(new Callable<T>() {
+        return taskExecutor().submit(new Callable<T>() {
             @Override
             public T call() throws Exception {
                 job.run();
@@ -112,7 +122,7 @@ public class JobManager extends AppServiceBase<JobManager> {
     }
 
     public void now(Job job) {
-        executor().submit(job);
+        taskExecutor().submit(job);
     }
 
     public void now(Runnable runnable) {
@@ -124,11 +134,49 @@ public class JobManager extends AppServiceBase<JobManager> {
     }
 
     public void now(String jobId, Runnable runnable) {
-        executor().submit(wrap(jobId, runnable));
+        taskExecutor().submit(wrap(jobId, runnable));
     }
 
     public void now(String jobId, Runnable runnable, boolean sysJob) {
-        executor().submit(wrap(jobId, runnable, sysJob));
+        taskExecutor().submit(wrap(jobId, runnable, sysJob));
+    }
+
+    /**
+     * Run a task asynchronously in a fire-and-forget manner.
+     *
+     * Unlike {@link #now(Runnable)}, the task is not registered as a
+     * {@link Job}: there is no job ID, it cannot be looked up or cancelled
+     * and there is no progress gauge. The {@link JobContext} of the calling
+     * thread is carried over only if there is anything in it.
+     *
+     * Exceptions raised by the task are passed to the
+     * {@link #exceptionListenerManager() job exception listeners}.
+     *
+     * This is used by the framework to dispatch asynchronous events.
+     *
+     * @param runnable the task
+     */
+    public void async(Runnable runnable) {
+        async(runnable, false);
+    }
+
+    /**
+     * Run a task asynchronously in a fire-and-forget manner.
+     *
+     * A system task is reported to the job exception listeners with
+     * an ID starting with {@link #SYS_JOB_MARKER}.
+     *
+     * @param runnable the task
+     * @param sysJob whether the task is a system task
+     * @see #async(Runnable)
+     */
+    public void async(Runnable runnable, boolean sysJob) {
+        if (Act.isDev()) {
+            // keep hot reload check and dev mode error reporting
+            now(runnable, sysJob);
+            return;
+        }
+        taskExecutor().execute(new AsyncTask(runnable, sysJob));
     }
 
     public String now($.Function<ProgressGauge, ?> worker) {
@@ -137,7 +185,7 @@ public class JobManager extends AppServiceBase<JobManager> {
 
     public String now(String jobId, $.Function<ProgressGauge, ?> worker) {
         Job job = wrap(jobId, worker);
-        executor().submit(job);
+        taskExecutor().submit(job);
         return job.id();
     }
 
@@ -165,7 +213,7 @@ public class JobManager extends AppServiceBase<JobManager> {
      */
     public void now(String jobId) {
         Job job = $.requireNotNull(jobById(jobId));
-        executor().submit(job);
+        taskExecutor().submit(job);
     }
 
     public <T> Future<T> delay(Callable<T> callable, long delay, TimeUnit timeUnit) {
@@ -464,10 +512,18 @@ public class JobManager extends AppServiceBase<JobManager> {
         return executor;
     }
 
+    private ExecutorService taskExecutor() {
+        return null == workers ? executor : workers;
+    }
+
     private void initExecutor(App app) {
         int poolSize = app.config().jobPoolSize();
         executor = new ScheduledThreadPoolExecutor(poolSize, new AppThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
         executor.setRemoveOnCancelPolicy(true);
+        ActConfig actConfig = Act.conf();
+        if (null != actConfig) {
+            workers = actConfig.executionMode().createExecutor("jobs", poolSize);
+        }
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("init executor with thread pool: %s", poolSize);
         }
@@ -580,6 +636,46 @@ public class JobManager extends AppServiceBase<JobManager> {
         }
     }
 
+    private class AsyncTask implements Runnable {
+
+        private final Runnable runnable;
+        private final String id;
+        private final JobContext origin;
+
+        AsyncTask(Runnable runnable, boolean sysJob) {
+            this.runnable = runnable;
+            this.id = sysJob ? SYS_ASYNC_TASK_ID : ASYNC_TASK_ID;
+            this.origin = JobContext.copyIfNotEmpty();
+        }
+
+        @Override
+        public void run() {
+            App app = app();
+            Thread thread = Thread.currentThread();
+            ClassLoader ctxClassLoader = thread.getContextClassLoader();
+            if (ctxClassLoader != app.classLoader()) {
+                thread.setContextClassLoader(app.classLoader());
+            }
+            JobContext.init(id);
+            try {
+                if (null != origin) {
+                    JobContext.loadFromOrigin(origin);
+                }
+                runnable.run();
+            } catch (Exception e) {
+                exceptionListenerManager.handleJobException(id, e);
+            } catch (Throwable t) {
+                LOGGER.fatal(t, "Fatal error executing async task");
+                throw t;
+            } finally {
+                JobContext.clear();
+                if (ctxClassLoader != app.classLoader()) {
+                    thread.setContextClassLoader(ctxClassLoader);
+                }
+            }
+        }
+    }
+
     public String randomJobId() {
         return app().cuid() + S.urlSafeRandom(3);
     }
@@ -0,0 +1,249 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2020 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.E;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of durations in nanoseconds over a rolling time window.
+ *
+ * Like HdrHistogram, each power of two range of values is split into
+ * a fixed number of linear sub buckets, so any recorded value could be
+ * reported back with a relative error less than 3%.
+ *
+ * The window is split into slots. Recording goes to the slot of the
+ * current time, and a slot is recycled once it falls out of the window.
+ * The buckets of a slot are allocated on the first record to the slot.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    /**
+     * Values larger than this (about 18 minutes) are tracked as this value
+     */
+    public static final long MAX_TRACKABLE = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE) + 1;
+
+    private final Slot[] slots;
+    private final long slotNs;
+
+    /**
+     * Construct a `LatencyHistogram`.
+     *
+     * @param windowNs the rolling window size in nanoseconds
+     * @param slotCount the number of slots the window is split into
+     */
+    public LatencyHistogram(long windowNs, int slotCount) {
+        E.illegalArgumentIf(slotCount < 1, "slot count must be positive");
+        E.illegalArgumentIf(windowNs < slotCount, "window too small");
+        this.slotNs = windowNs / slotCount;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; ++i) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param ns the duration in nanoseconds
+     */
+    public void record(long ns) {
+        if (ns < 0) {
+            return;
+        }
+        long epoch = epoch(System.nanoTime());
+        slots[slotIndex(epoch)].record(epoch, bucketIndex(Math.min(ns, MAX_TRACKABLE)), ns);
+    }
+
+    /**
+     * Returns a snapshot of the data recorded in the current window.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long epoch = epoch(System.nanoTime());
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        long max = 0L;
+        for (Slot slot : slots) {
+            long slotEpoch = slot.epoch.get();
+            if (slotEpoch > epoch || slotEpoch <= epoch - slots.length) {
+                continue;
+            }
+            AtomicLongArray slotCounts = slot.counts;
+            if (null == slotCounts) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                long count = slotCounts.get(i);
+                counts[i] += count;
+                total += count;
+            }
+            max = Math.max(max, slot.max.get());
+        }
+        return new Snapshot(counts, total, max);
+    }
+
+    /**
+     * Reset all data.
+     */
+    public void clear() {
+        for (Slot slot : slots) {
+            slot.epoch.set(Long.MIN_VALUE);
+            slot.reset();
+        }
+    }
+
+    private long epoch(long now) {
+        return Math.floorDiv(now, slotNs);
+    }
+
+    private int slotIndex(long epoch) {
+        return (int) Math.floorMod(epoch, (long) slots.length);
+    }
+
+    static int bucketIndex(long ns) {
+        if (ns < SUB_BUCKET_COUNT) {
+            return (int) ns;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(ns) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (ns >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    static long highestEquivalentValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int i = bucketIndex - SUB_BUCKET_COUNT;
+        int shift = i / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = i % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static class Slot {
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private volatile AtomicLongArray counts;
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long epoch, int bucketIndex, long ns) {
+            long slotEpoch = this.epoch.get();
+            // the thread wins the CAS recycles the slot. Values recorded by
+            // other threads during the reset might get lost, which is
+            // acceptable for a statistic purpose
+            if (slotEpoch < epoch && this.epoch.compareAndSet(slotEpoch, epoch)) {
+                reset();
+            }
+            counts().incrementAndGet(bucketIndex);
+            long curMax = max.get();
+            while (ns > curMax && !max.compareAndSet(curMax, ns)) {
+                curMax = max.get();
+            }
+        }
+
+        void reset() {
+            AtomicLongArray counts = this.counts;
+            if (null != counts) {
+                for (int i = 0; i < BUCKET_COUNT; ++i) {
+                    counts.set(i, 0L);
+                }
+            }
+            max.set(0L);
+        }
+
+        private AtomicLongArray counts() {
+            AtomicLongArray counts = this.counts;
+            if (null == counts) {
+                synchronized (this) {
+                    counts = this.counts;
+                    if (null == counts) {
+                        counts = new AtomicLongArray(BUCKET_COUNT);
+                        this.counts = counts;
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * An immutable view of the data recorded in a {@link LatencyHistogram}.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        /**
+         * Returns number of values recorded.
+         *
+         * @return the count
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns the maximum value recorded.
+         *
+         * @return the max value in nanoseconds
+         */
+        public long max() {
+            return max;
+        }
+
+        /**
+         * Returns the value at the given percentile.
+         *
+         * @param percentile the percentile, e.g. `99.9`
+         * @return the value in nanoseconds or `0` if no value has been recorded
+         */
+        public long valueAt(double percentile) {
+            if (0 == count) {
+                return 0L;
+            }
+            long target = (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count);
+            target = Math.max(target, 1L);
+            long acc = 0L;
+            for (int i = 0; i < counts.length; ++i) {
+                acc += counts[i];
+                if (acc >= target) {
+                    return Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+}
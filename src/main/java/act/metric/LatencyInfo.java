@@ -0,0 +1,130 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2020 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.$;
+
+/**
+ * Latency distribution of a timer in the current rolling window
+ */
+public class LatencyInfo {
+
+    private String name;
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long p999;
+    private long max;
+
+    LatencyInfo(String name, LatencyHistogram.Snapshot snapshot) {
+        this.name = name;
+        this.count = snapshot.count();
+        this.p50 = snapshot.valueAt(50);
+        this.p90 = snapshot.valueAt(90);
+        this.p99 = snapshot.valueAt(99);
+        this.p999 = snapshot.valueAt(99.9);
+        this.max = snapshot.max();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50Ns() {
+        return p50;
+    }
+
+    public long getP90Ns() {
+        return p90;
+    }
+
+    public long getP99Ns() {
+        return p99;
+    }
+
+    public long getP999Ns() {
+        return p999;
+    }
+
+    public long getMaxNs() {
+        return max;
+    }
+
+    public String getP50() {
+        return DurationScale.format(p50);
+    }
+
+    public String getP90() {
+        return DurationScale.format(p90);
+    }
+
+    public String getP99() {
+        return DurationScale.format(p99);
+    }
+
+    public String getP999() {
+        return DurationScale.format(p999);
+    }
+
+    public String getMax() {
+        return DurationScale.format(max);
+    }
+
+    @Override
+    public int hashCode() {
+        return $.hc(name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof LatencyInfo) {
+            LatencyInfo that = (LatencyInfo) obj;
+            return $.eq(name, that.name);
+        }
+        return false;
+    }
+
+    public static $.Comparator<LatencyInfo> COMPARATOR = new P99Comparator();
+
+    private static class P99Comparator extends $.Comparator<LatencyInfo> {
+
+        private static final long serialVersionUID = -1874536409263581207L;
+
+        @Override
+        public int compare(LatencyInfo l1, LatencyInfo l2) {
+            long l = l2.p99 - l1.p99;
+            if (l < 0) {
+                return -1;
+            } else if (l == 0) {
+                return l2.name.compareTo(l1.name);
+            }
+            return 1;
+        }
+    }
+}
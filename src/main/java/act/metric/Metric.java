@@ -97,4 +97,34 @@ public interface Metric {
      */
     Timer startTimer(String name);
 
+    /**
+     * Resolve a name into a {@link MetricHandle}. The name is resolved
+     * in the same way as {@link #startTimer(String)} does.
+     *
+     * The default implementation returns a handle that calls
+     * {@link #countOnce(String)} and {@link #startTimer(String)} with the name
+     *
+     * @param name A string specifies the timer
+     * @return a MetricHandle instance
+     */
+    default MetricHandle handle(final String name) {
+        final Metric metric = this;
+        return new MetricHandle() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void countOnce() {
+                metric.countOnce(name);
+            }
+
+            @Override
+            public Timer startTimer() {
+                return metric.startTimer(name);
+            }
+        };
+    }
+
 }
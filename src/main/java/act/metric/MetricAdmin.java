@@ -78,6 +78,28 @@ public class MetricAdmin {
         return process(list, limit, q, tree, depth, MetricInfo.Comparator.TIMER, MetricInfoTree.TIMER);
     }
 
+    @Command(name = "act.metric.latency.list,act.metric.latency,act.latency,act.latencies", help = "show latency percentiles of metric timers in the last minute")
+    @PropertySpec("name,count,p50,p90,p99,p999,max")
+    public Object getLatencies(
+            @Optional("specify maximum items returned") Integer limit,
+            @Optional("specify search string") final String q,
+            @Optional("including classloading metric") final boolean classLoading
+    ) {
+        List<LatencyInfo> list = Act.metricPlugin().metricStore().latencies();
+        final Pattern p = null == q ? null : Pattern.compile(q);
+        list = C.list(list).filter(new $.Predicate<LatencyInfo>() {
+            @Override
+            public boolean test(LatencyInfo info) {
+                String name = info.getName();
+                if (!classLoading && name.startsWith(MetricInfo.CLASS_LOADING)) {
+                    return false;
+                }
+                return null == p || name.contains(q) || p.matcher(name).matches();
+            }
+        }).sorted(LatencyInfo.COMPARATOR);
+        return null == limit ? list : C.list(list).take(limit);
+    }
+
     private List<MetricInfo> withoutClassLoading(List<MetricInfo> list) {
         return C.list(list).remove(new $.Predicate<MetricInfo>() {
             @Override
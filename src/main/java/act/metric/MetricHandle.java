@@ -0,0 +1,56 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2020 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A `MetricHandle` is a metric name resolved into the counters and timers
+ * of the name and all its parents in the name hierarchy.
+ *
+ * Application shall resolve the handle once and keep it, recording through
+ * the handle does not need to build or look up metric names.
+ */
+public interface MetricHandle {
+
+    /**
+     * The do-nothing metric handle
+     */
+    MetricHandle NULL_HANDLE = NullMetric.NULL_HANDLE;
+
+    /**
+     * Returns the full name of the metric
+     * @return the metric name
+     */
+    String name();
+
+    /**
+     * Increase one time for the counter of this handle and its parents
+     */
+    void countOnce();
+
+    /**
+     * Start a {@link Timer} on this handle.
+     *
+     * Note calling this method should automatically call {@link #countOnce()}
+     *
+     * @return a Timer instance
+     */
+    Timer startTimer();
+}
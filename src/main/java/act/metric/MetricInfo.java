@@ -36,6 +36,10 @@ public class MetricInfo {
     public static final String MAILER = "act:mail";
     public static final String EVENT_HANDLER = "act:event";
     public static final String ROUTING = "act:routing";
+    public static final String RESOURCE_CACHE = "act:resource-cache";
+    public static final String WS_HANDLER = "act:ws";
+    public static final String WS_QUEUE = "act:ws-queue";
+    public static final String I18N = "act:i18n";
     public static final String PATH_SEPARATOR = Metric.PATH_SEPARATOR;
 
     private String name;
@@ -20,6 +20,7 @@ package act.metric;
  * #L%
  */
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,6 +39,36 @@ public interface MetricStore {
 
     void onTimerStop(Timer timer);
 
+    /**
+     * Resolve a name into a {@link MetricHandle} that
+     * records to the counter/timer of the name and all its parents.
+     *
+     * The default implementation returns a handle that calls
+     * {@link #countOnce(String)} and starts {@link SimpleTimer} with the name
+     *
+     * @param name A string specifies the counter/timer
+     * @return the metric handle
+     */
+    default MetricHandle handle(final String name) {
+        final MetricStore store = this;
+        return new MetricHandle() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void countOnce() {
+                store.countOnce(name);
+            }
+
+            @Override
+            public Timer startTimer() {
+                return new SimpleTimer(name, store);
+            }
+        };
+    }
+
     /**
      * Returns the counts of counter specified
      *
@@ -66,6 +97,18 @@ public interface MetricStore {
      */
     List<MetricInfo> timers();
 
+    /**
+     * Returns latency distribution of all timers in the current
+     * rolling window
+     *
+     * The default implementation returns an empty list
+     *
+     * @return latency info in a list
+     */
+    default List<LatencyInfo> latencies() {
+        return Collections.emptyList();
+    }
+
     /**
      * Clear metric data
      */
@@ -48,6 +48,22 @@ enum NullMetric implements Metric {
         }
     };
 
+    static final MetricHandle NULL_HANDLE = new MetricHandle() {
+        @Override
+        public String name() {
+            return null;
+        }
+
+        @Override
+        public void countOnce() {
+        }
+
+        @Override
+        public Timer startTimer() {
+            return NULL_TIMER;
+        }
+    };
+
     @Override
     public void countOnce(String name) {
     }
@@ -57,4 +73,9 @@ enum NullMetric implements Metric {
         return NULL_TIMER;
     }
 
+    @Override
+    public MetricHandle handle(String name) {
+        return NULL_HANDLE;
+    }
+
 }
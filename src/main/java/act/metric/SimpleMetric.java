@@ -40,6 +40,11 @@ public class SimpleMetric implements Metric {
         return new SimpleTimer(S.pathConcat(this.name, ':', name), metricStore);
     }
 
+    @Override
+    public MetricHandle handle(String name) {
+        return metricStore.handle(S.pathConcat(this.name, ':', name));
+    }
+
     @Override
     public void countOnce(String name) {
         metricStore.countOnce(name);
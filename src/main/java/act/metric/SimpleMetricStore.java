@@ -30,13 +30,14 @@ import org.osgl.util.IO;
 import org.osgl.util.S;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A simple implementation of {@link MetricStore}
@@ -48,8 +49,13 @@ public class SimpleMetricStore implements MetricStore, Serializable {
 
     private static final long serialVersionUID = 7357409264403928225L;
 
-    private ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
-    private ConcurrentMap<String, AtomicLong> timers = new ConcurrentHashMap<String, AtomicLong>();
+    // latency percentiles are reported on the last minute, rolled every 10 seconds
+    private static final long HISTOGRAM_WINDOW = 60L * 1000L * 1000L * 1000L;
+    private static final int HISTOGRAM_SLOTS = 6;
+
+    private ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+    private ConcurrentMap<String, LongAdder> timers = new ConcurrentHashMap<String, LongAdder>();
+    private transient ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
 
     private transient SimpleMetricPlugin plugin;
     private transient FileSynchronizer synchronizer;
@@ -72,18 +78,9 @@ public class SimpleMetricStore implements MetricStore, Serializable {
     }
 
     private void countOnce_(String name) {
-        AtomicLong al = counters.get(name);
-        if (null == al) {
-            AtomicLong newAl = new AtomicLong();
-            al = counters.putIfAbsent(name, newAl);
-            if (null == al) {
-                al = newAl;
-            }
-        }
-        al.incrementAndGet();
-        name = getParent(name);
-        if (S.notBlank(name)) {
-            countOnce_(name);
+        while (S.notBlank(name)) {
+            adder(counters, name).increment();
+            name = getParent(name);
         }
     }
 
@@ -107,38 +104,91 @@ public class SimpleMetricStore implements MetricStore, Serializable {
     }
 
     private void onTimerStop_(String name, long ns) {
-        AtomicLong al = timers.get(name);
-        if (null == al) {
-            AtomicLong newAl = new AtomicLong();
-            al = timers.putIfAbsent(name, newAl);
-            if (null == al) {
-                al = newAl;
+        while (S.notBlank(name)) {
+            adder(timers, name).add(ns);
+            LatencyHistogram histogram = histogram(name);
+            if (null != histogram) {
+                histogram.record(ns);
             }
+            name = getParent(name);
+        }
+    }
+
+    @Override
+    public MetricHandle handle(String name) {
+        E.illegalArgumentIf(S.blank(name), "name expected");
+        List<String> names = new ArrayList<>();
+        for (String s = name; S.notBlank(s); s = getParent(s)) {
+            names.add(s);
         }
-        al.addAndGet(ns);
-        name = getParent(name);
-        if (S.notBlank(name)) {
-            onTimerStop_(name, ns);
+        int len = names.size();
+        LongAdder[] handleCounters = new LongAdder[len];
+        LongAdder[] handleTimers = new LongAdder[len];
+        LatencyHistogram[] handleHistograms = new LatencyHistogram[len];
+        for (int i = 0; i < len; ++i) {
+            String s = names.get(i);
+            handleCounters[i] = adder(counters, s);
+            handleTimers[i] = adder(timers, s);
+            handleHistograms[i] = histogram(s);
         }
+        return new Handle(name, logger(name), handleCounters, handleTimers, handleHistograms);
+    }
+
+    private static LongAdder adder(ConcurrentMap<String, LongAdder> map, String name) {
+        LongAdder adder = map.get(name);
+        if (null == adder) {
+            LongAdder newAdder = new LongAdder();
+            adder = map.putIfAbsent(name, newAdder);
+            if (null == adder) {
+                adder = newAdder;
+            }
+        }
+        return adder;
+    }
+
+    // class loading timers are started for each class, thus
+    // no histogram is kept for them to save the memory
+    private static boolean keepHistogram(String name) {
+        return !name.startsWith(MetricInfo.CLASS_LOADING);
+    }
+
+    private LatencyHistogram histogram(String name) {
+        if (!keepHistogram(name)) {
+            return null;
+        }
+        LatencyHistogram histogram = histograms.get(name);
+        if (null == histogram) {
+            LatencyHistogram newHistogram = new LatencyHistogram(HISTOGRAM_WINDOW, HISTOGRAM_SLOTS);
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (null == histogram) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
     }
 
     @Override
     public Long count(String name) {
-        AtomicLong al = counters.get(name);
-        return null == al ? null : al.get();
+        LongAdder adder = counters.get(name);
+        return null == adder ? null : adder.sum();
     }
 
     @Override
     public Long ns(String name) {
-        AtomicLong al = counters.get(name);
-        return null == al ? null : al.get();
+        LongAdder adder = timers.get(name);
+        return null == adder ? null : adder.sum();
     }
 
+    // Note entries with zero count are those resolved by a handle
+    // but not recorded yet, or reset by `clear()`
     @Override
     public List<MetricInfo> counters() {
         Set<MetricInfo> set = new TreeSet<MetricInfo>();
-        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
-            set.add(new MetricInfo(entry.getKey(), entry.getValue().get()));
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                set.add(new MetricInfo(entry.getKey(), count));
+            }
         }
         return C.list(set);
     }
@@ -146,16 +196,41 @@ public class SimpleMetricStore implements MetricStore, Serializable {
     @Override
     public List<MetricInfo> timers() {
         Set<MetricInfo> set = C.newSet();
-        for (Map.Entry<String, AtomicLong> entry : timers.entrySet()) {
-            set.add(new MetricInfo(entry.getKey(), entry.getValue().get(), counters.get(entry.getKey()).get()));
+        for (Map.Entry<String, LongAdder> entry : timers.entrySet()) {
+            String name = entry.getKey();
+            LongAdder counter = counters.get(name);
+            long count = null == counter ? 0 : counter.sum();
+            if (count > 0) {
+                set.add(new MetricInfo(name, entry.getValue().sum(), count));
+            }
         }
         return C.list(set);
     }
 
+    @Override
+    public List<LatencyInfo> latencies() {
+        List<LatencyInfo> list = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.count() > 0) {
+                list.add(new LatencyInfo(entry.getKey(), snapshot));
+            }
+        }
+        return list;
+    }
+
     @Override
     public void clear() {
-        timers.clear();
-        counters.clear();
+        // reset instead of remove so that resolved handles keep working
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.clear();
+        }
+        for (LongAdder adder : timers.values()) {
+            adder.reset();
+        }
+        for (LongAdder adder : counters.values()) {
+            adder.reset();
+        }
     }
 
     public void takeSnapshot() {
@@ -173,6 +248,88 @@ public class SimpleMetricStore implements MetricStore, Serializable {
         return S.beforeLast(name, ":");
     }
 
+    private static class Handle implements MetricHandle {
+        private final String name;
+        private final Logger logger;
+        private final LongAdder[] counters;
+        private final LongAdder[] timers;
+        private final LatencyHistogram[] histograms;
+
+        Handle(String name, Logger logger, LongAdder[] counters, LongAdder[] timers, LatencyHistogram[] histograms) {
+            this.name = name;
+            this.logger = logger;
+            this.counters = counters;
+            this.timers = timers;
+            this.histograms = histograms;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void countOnce() {
+            for (LongAdder counter : counters) {
+                counter.increment();
+            }
+        }
+
+        @Override
+        public Timer startTimer() {
+            countOnce();
+            if (logger.isTraceEnabled()) {
+                logger.trace("Timer[%s] started", name);
+            }
+            return new HandleTimer(this);
+        }
+
+        void onTimerStop(long ns) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Timer[%s] stopped. Time elapsed: %sns", name, ns);
+            }
+            for (int i = 0, len = timers.length; i < len; ++i) {
+                timers[i].add(ns);
+                LatencyHistogram histogram = histograms[i];
+                if (null != histogram) {
+                    histogram.record(ns);
+                }
+            }
+        }
+    }
+
+    private static class HandleTimer implements Timer {
+        private final Handle handle;
+        private final long start;
+        private long duration;
+
+        HandleTimer(Handle handle) {
+            this.handle = handle;
+            this.start = $.ns();
+        }
+
+        @Override
+        public String name() {
+            return handle.name;
+        }
+
+        @Override
+        public void stop() {
+            duration = $.ns() - start;
+            handle.onTimerStop(duration);
+        }
+
+        @Override
+        public long ns() {
+            return duration;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+
     private static class FileSynchronizer extends LogSupport {
         private static final String FILE_NAME = ".act.metric";
         private boolean ioError = false;
@@ -49,7 +49,6 @@ import org.osgl.util.*;
 import java.io.*;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.*;
 import javax.enterprise.context.ApplicationScoped;
 import javax.validation.constraints.NotNull;
@@ -111,13 +110,6 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
     private OptionsInfoBase optionHandlerFactory;
     private Set<RequestHandler> requireBodyParsing = new HashSet<>();
 
-    private static final ThreadLocal<AtomicInteger> varIdCounter = new ThreadLocal<AtomicInteger>() {
-        @Override
-        protected AtomicInteger initialValue() {
-            return new AtomicInteger(0);
-        }
-    };
-
     public Router(App app) {
         this(null, app, null);
     }
@@ -253,7 +245,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         if (null == node) {
             return UnknownHttpMethodHandler.INSTANCE;
         }
-        node = search(node, Path.tokenizer(Unsafe.bufOf(path)), context);
+        node = search(node, path, context);
         RequestHandler handler = getInvokerFrom(node, context);
         RequestHandler blockIssueHandler = app().blockIssueHandler();
         if (null == blockIssueHandler || (handler instanceof FileGetter || handler instanceof ResourceGetter)) {
@@ -263,14 +255,16 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
     }
 
     public RequestHandler findStaticGetHandler(String url) {
-        Iterator<String> path = Path.tokenizer(Unsafe.bufOf(url));
+        int end = pathEnd(url);
+        int pos = segmentStart(url, 0, end);
         Node node = root(H.Method.GET);
-        while (null != node && path.hasNext()) {
-            String nodeName = path.next();
-            node = node.staticChildren.get(nodeName);
+        while (null != node && pos > -1) {
+            int segEnd = segmentEnd(url, pos, end);
+            node = node.compiled().staticChild(url, pos, segEnd);
             if (null == node || node.terminateRouteSearch()) {
                 break;
             }
+            pos = segmentStart(url, segEnd, end);
         }
         return null == node ? null : node.handler;
     }
@@ -282,7 +276,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         RequestHandler handler = node.handler;
         if (null == handler) {
             for (Node targetNode : node.dynamicChildren) {
-                if (Node.MATCH_ALL.equals(targetNode.patternTrait) || targetNode.pattern.matcher("").matches()) {
+                if (targetNode.matchesEmpty) {
                     return getInvokerFrom(targetNode, context);
                 }
             }
@@ -783,53 +777,29 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         return targetMethods;
     }
 
-    private Node search(Node rootNode, Iterator<String> path, ActionContext context) {
-        varIdCounter.get().set(0);
+    private Node search(Node rootNode, String path, ActionContext context) {
+        int end = pathEnd(path);
         Node node = rootNode;
         Node backup = null;
         String backupPath = null;
-        List<String> pathBackup = null;
         if (node.terminateRouteSearch() && !context.urlPath().isBuiltIn()) {
-            S.Buffer sb = S.buffer();
-            pathBackup = new ArrayList<>();
-            while (path.hasNext()) {
-                String pathElement = path.next();
-                pathBackup.add(pathElement);
-                sb.append('/').append(pathElement);
-            }
-            backupPath = sb.toString();
+            String rest = remainingPath(path, 0, end);
+            backupPath = rest.isEmpty() ? rest : S.concat("/", rest);
             backup = node;
         }
-        if (null != pathBackup) {
-            path = pathBackup.iterator();
-        }
-        while (null != node && path.hasNext()) {
-            String nodeName = path.next();
-            node = node.child(nodeName, context);
+        // the ordinal of the next URL path variable to be resolved
+        int varId = 0;
+        int pos = segmentStart(path, 0, end);
+        while (null != node && pos > -1) {
+            int segEnd = segmentEnd(path, pos, end);
+            node = node.child(path, pos, segEnd, varId, context);
+            pos = segmentStart(path, segEnd, end);
             if (null != node) {
-                if (node.terminateRouteSearch()) {
-                    if (!path.hasNext()) {
-                        context.param(ParamNames.PATH, "");
-                    } else {
-                        S.Buffer sb = S.buffer();
-                        while (path.hasNext()) {
-                            if (!sb.isEmpty()) {
-                                sb.append('/');
-                            }
-                            sb.append(path.next());
-                        }
-                        context.param(ParamNames.PATH, sb.toString());
-                    }
-                    break;
-                } else if (node.ignoreRestParts()) {
-                    S.Buffer sb = S.buffer();
-                    while (path.hasNext()) {
-                        if (!sb.isEmpty()) {
-                            sb.append('/');
-                        }
-                        sb.append(path.next());
-                    }
-                    context.param(ParamNames.PATH, sb.toString());
+                if (node.consumeVarId) {
+                    varId++;
+                }
+                if (node.terminateRouteSearch() || node.ignoreRestParts()) {
+                    context.param(ParamNames.PATH, remainingPath(path, pos, end));
                     break;
                 }
             }
@@ -841,6 +811,59 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         return node;
     }
 
+    /*
+     * The following helpers scan URL path segments by offset so that
+     * routing does not need to tokenize the incoming path into strings.
+     * The semantic is the same as `Path.tokenizer`: empty segments are
+     * skipped and `?` terminates the path.
+     */
+
+    private static int pathEnd(String path) {
+        int end = path.indexOf('?');
+        return end < 0 ? path.length() : end;
+    }
+
+    // returns start offset of the next segment or `-1` if there is no more segment
+    private static int segmentStart(String path, int pos, int end) {
+        while (pos < end && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos < end ? pos : -1;
+    }
+
+    private static int segmentEnd(String path, int start, int end) {
+        while (start < end && path.charAt(start) != '/') {
+            start++;
+        }
+        return start;
+    }
+
+    // join all segments starting from `pos` with `/`
+    private static String remainingPath(String path, int pos, int end) {
+        int start = pos < 0 ? -1 : segmentStart(path, pos, end);
+        if (start < 0) {
+            return "";
+        }
+        int last = end;
+        while (path.charAt(last - 1) == '/') {
+            last--;
+        }
+        int doubleSlash = path.indexOf("//", start);
+        if (doubleSlash < 0 || doubleSlash >= last) {
+            return path.substring(start, last);
+        }
+        S.Buffer sb = S.buffer();
+        while (start > -1) {
+            int segEnd = segmentEnd(path, start, end);
+            if (!sb.isEmpty()) {
+                sb.append('/');
+            }
+            sb.append(path, start, segEnd);
+            start = segmentStart(path, segEnd, end);
+        }
+        return sb.toString();
+    }
+
     private static class RequestHandlerInfo extends DelegateRequestHandler {
         private String action;
 
@@ -1005,6 +1028,21 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         private RouterRegexMacroLookup macroLookup;
         private Map<String, Node> reverseRoutes = new HashMap<>();
 
+        // --- precomputed at route building time for fast routing
+        // whether routing to this node consumes a slot of the URL path variable counter
+        private boolean consumeVarId;
+        // whether this node matches an empty path element
+        private boolean matchesEmpty;
+        // URL path variables and the corresponding regex group names declared by this node
+        private String[] groupVarNames = new String[0];
+        private String[] groupNames = new String[0];
+        // the routing table compiled from children, reset when children changed
+        private transient volatile Compiled compiled;
+        // bumped after each change of children, so that a table compiled
+        // from the children before the change is not cached
+        // note children are changed by route building thread only
+        private transient volatile int childrenVersion;
+
         private Node(int id, AppConfig config) {
             this.id = id;
             this.macroLookup = config.routerRegexMacroLookup();
@@ -1145,54 +1183,73 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
             return list;
         }
 
-        private Node child(String name, ActionContext context) {
-            Node node = staticChildren.get(name);
+        Compiled compiled() {
+            Compiled compiled = this.compiled;
+            if (null == compiled) {
+                int version = childrenVersion;
+                compiled = new Compiled(this);
+                if (version == childrenVersion) {
+                    this.compiled = compiled;
+                }
+            }
+            return compiled;
+        }
+
+        // must be called after children have been changed
+        private void childrenChanged() {
+            childrenVersion++;
+            compiled = null;
+        }
+
+        /*
+         * Find the child matches the path element specified by `start` and `end`
+         * offset in `path`. String is allocated only when a dynamic child
+         * is matched
+         */
+        private Node child(String path, int start, int end, int varId, ActionContext context) {
+            Compiled compiled = compiled();
+            Node node = compiled.staticChild(path, start, end);
             if (null != node) {
                 return node;
             }
+            String name = null;
             if (hasKeywordMatchingChild) {
+                name = path.substring(start, end);
                 node = keywordMatchingChildren.get(Keyword.of(name));
                 if (null != node) {
                     return node;
                 }
             }
-            if (!dynamicChildren.isEmpty()) {
-                UrlPath path = context.urlPath();
-                for (Node targetNode : dynamicChildren) {
-                    for (Map.Entry<UrlPath, Node> entry : targetNode.dynamicAliases.entrySet()) {
-                        if (entry.getKey().equals(path)) {
-                            targetNode = entry.getValue();
-                            break;
-                        }
-                    }
+            DynamicChild[] dynamicChildren = compiled.dynamicChildren;
+            if (dynamicChildren.length > 0) {
+                for (DynamicChild dynamicChild : dynamicChildren) {
+                    Node targetNode = dynamicChild.resolve(context);
                     if (MATCH_ALL == targetNode.patternTrait) {
-                        context.urlPathParam(targetNode.varNames.get(varIdCounter.get().getAndIncrement()), name);
+                        if (null == name) {
+                            name = path.substring(start, end);
+                        }
+                        context.urlPathParam(targetNode.varNames.get(varId), name);
                         return targetNode;
                     }
                     Pattern pattern = targetNode.pattern;
-                    Matcher matcher = null == pattern ? null : pattern.matcher(name);
-                    if (null != matcher && matcher.matches()) {
+                    if (null == pattern) {
+                        continue;
+                    }
+                    Matcher matcher = pattern.matcher(path).region(start, end);
+                    if (matcher.matches()) {
                         if (!targetNode.nodeValueBuilders.isEmpty()) {
-                            for (String varName : targetNode.varNames) {
-                                String varNameStr = varName;
-                                try {
-                                    String varValue = matcher.group(varNameStr);
-                                    if (S.notBlank(varValue)) {
-                                        context.urlPathParam(varNameStr, S.string(varValue));
-                                    }
-                                } catch (IllegalArgumentException e) {
-                                    if (e.getMessage().contains("No group with name")) {
-                                        String escaped = escapeUnderscore(varNameStr);
-                                        String varValue = matcher.group(escaped);
-                                        if (S.notBlank(varValue)) {
-                                            context.urlPathParam(varNameStr, S.string(varValue));
-                                        }
-                                    }
+                            String[] groupNames = targetNode.groupNames;
+                            for (int i = 0; i < groupNames.length; ++i) {
+                                String varValue = matcher.group(groupNames[i]);
+                                if (S.notBlank(varValue)) {
+                                    context.urlPathParam(targetNode.groupVarNames[i], varValue);
                                 }
                             }
                         } else {
-                            String varName = targetNode.varNames.get(varIdCounter.get().getAndIncrement());
-                            context.urlPathParam(varName, S.string(name));
+                            if (null == name) {
+                                name = path.substring(start, end);
+                            }
+                            context.urlPathParam(targetNode.varNames.get(varId), name);
                         }
                         return targetNode;
                     }
@@ -1224,6 +1281,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
             Destroyable.Util.destroyAll(dynamicChildren, ApplicationScoped.class);
             Destroyable.Util.destroyAll(staticChildren.values(), ApplicationScoped.class);
             staticChildren.clear();
+            childrenChanged();
         }
 
         /**
@@ -1278,7 +1336,14 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         }
 
         Node addChild(String name, final String path, final String action) {
-            name = name.trim();
+            try {
+                return addChild0(name.trim(), path, action);
+            } finally {
+                childrenChanged();
+            }
+        }
+
+        private Node addChild0(String name, final String path, final String action) {
             Keyword keyword = null;
             if (S.is(name).wrappedWith(TILDE)) {
                 keyword = Keyword.of(S.strip(name).of(TILDE));
@@ -1401,6 +1466,7 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         private void parseDynaName(String name) {
             $.Var<Pattern> patternVar = $.var();
             $.Var<String> patternTraitsVar = $.var();
+            int inheritedVars = varNames.size();
             boolean isDynamic = parseDynaNameStyleA(name, varNames, patternVar, patternTraitsVar);
             this.isDynamic = isDynamic || parseDynaNameStyleB(
                     name, varNames, patternVar,
@@ -1412,6 +1478,20 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
             if (MATCH_ALL != this.patternTrait) {
                 this.pattern = patternVar.get();
             }
+            this.consumeVarId = MATCH_ALL == this.patternTrait || nodeValueBuilders.isEmpty();
+            this.matchesEmpty = MATCH_ALL.equals(this.patternTrait) || (null != pattern && pattern.matcher("").matches());
+            if (null != pattern && !nodeValueBuilders.isEmpty()) {
+                List<String> ownVarNames = varNames.subList(inheritedVars, varNames.size());
+                int len = ownVarNames.size();
+                String regex = pattern.pattern();
+                groupVarNames = new String[len];
+                groupNames = new String[len];
+                for (int i = 0; i < len; ++i) {
+                    String varName = ownVarNames.get(i);
+                    groupVarNames[i] = varName;
+                    groupNames[i] = regex.contains(S.concat("(?<", varName, ">")) ? varName : escapeUnderscore(varName);
+                }
+            }
         }
 
         /*
@@ -1621,6 +1701,114 @@ public class Router extends AppHolderBase<Router> implements TreeNode {
         }
     }
 
+    /**
+     * A dynamic child node along with the aliases registered on it.
+     */
+    private static class DynamicChild {
+        private final Node node;
+        // aliases are not consulted if all of them point back to the node itself
+        private final UrlPath[] aliasPaths;
+        private final Node[] aliasNodes;
+
+        DynamicChild(Node node) {
+            this.node = node;
+            boolean hasAlias = false;
+            for (Node alias : node.dynamicAliases.values()) {
+                if (alias != node) {
+                    hasAlias = true;
+                    break;
+                }
+            }
+            if (hasAlias) {
+                int size = node.dynamicAliases.size();
+                aliasPaths = new UrlPath[size];
+                aliasNodes = new Node[size];
+                int i = 0;
+                for (Map.Entry<UrlPath, Node> entry : node.dynamicAliases.entrySet()) {
+                    aliasPaths[i] = entry.getKey();
+                    aliasNodes[i++] = entry.getValue();
+                }
+            } else {
+                aliasPaths = null;
+                aliasNodes = null;
+            }
+        }
+
+        Node resolve(ActionContext context) {
+            if (null == aliasPaths) {
+                return node;
+            }
+            UrlPath path = context.urlPath();
+            for (int i = 0, len = aliasPaths.length; i < len; ++i) {
+                if (aliasPaths[i].equals(path)) {
+                    return aliasNodes[i];
+                }
+            }
+            return node;
+        }
+    }
+
+    /**
+     * The routing table compiled from a {@link Node}'s children.
+     *
+     * Static children are kept in an open addressing hash table which
+     * is probed with a path element specified by offsets in the
+     * incoming URL, thus no string is allocated for static route
+     * matching.
+     */
+    private static class Compiled {
+        private final String[] staticNames;
+        private final Node[] staticNodes;
+        private final int mask;
+        private final DynamicChild[] dynamicChildren;
+
+        Compiled(Node node) {
+            Map<String, Node> staticChildren = node.staticChildren;
+            int capacity = 2;
+            while (capacity < staticChildren.size() * 2) {
+                capacity <<= 1;
+            }
+            mask = capacity - 1;
+            staticNames = new String[capacity];
+            staticNodes = new Node[capacity];
+            for (Map.Entry<String, Node> entry : staticChildren.entrySet()) {
+                String name = entry.getKey();
+                int i = spread(name.hashCode()) & mask;
+                while (null != staticNames[i]) {
+                    i = (i + 1) & mask;
+                }
+                staticNames[i] = name;
+                staticNodes[i] = entry.getValue();
+            }
+            List<Node> dynamicNodes = node.dynamicChildren;
+            dynamicChildren = new DynamicChild[dynamicNodes.size()];
+            for (int i = 0; i < dynamicChildren.length; ++i) {
+                dynamicChildren[i] = new DynamicChild(dynamicNodes.get(i));
+            }
+        }
+
+        Node staticChild(String path, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; ++i) {
+                h = 31 * h + path.charAt(i);
+            }
+            int len = end - start;
+            int i = spread(h) & mask;
+            String name;
+            while (null != (name = staticNames[i])) {
+                if (name.length() == len && path.regionMatches(start, name, 0, len)) {
+                    return staticNodes[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+
     private enum BuiltInHandlerDecorator {
         authenticated, external, throttled
     }
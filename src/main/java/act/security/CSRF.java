@@ -123,6 +123,8 @@ public class CSRF {
         private String cookieName;
         private String cookieDomain;
         private CSRFProtector csrfProtector;
+        // read token from header only, for handlers streaming the request body
+        private boolean headerOnly;
 
         private Spec() {this(null);}
 
@@ -189,6 +191,24 @@ public class CSRF {
             return effective() ? this : next;
         }
 
+        /**
+         * Returns a spec that reads the CSRF token from the request header only.
+         *
+         * This is used by handlers that stream the request body, e.g. with
+         * {@link act.data.MultipartParts}, as looking up the token in the
+         * form fields would have the body parsed before the handler reads it.
+         *
+         * @return the spec that does not read token from the request body
+         */
+        public CSRF.Spec headerOnly() {
+            if (DUMB == this || !enabled || headerOnly) {
+                return this;
+            }
+            Spec spec = new Spec(DEFAULT == this ? null : enabled);
+            spec.headerOnly = true;
+            return spec;
+        }
+
         public void setCookieAndRenderArgs(ActionContext context) {
             if (!enabled) {
                 return;
@@ -219,7 +239,7 @@ public class CSRF {
             if (S.blank(token)) {
                 token = context.req().header(headerName);
             }
-            if (S.blank(token)) {
+            if (S.blank(token) && !headerOnly) {
                 token = context.paramVal(paramName);
             }
             if (S.notBlank(token)) {
@@ -43,6 +43,14 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     private final int ttlInMillis;
     private final String pingPath;
     private RotateSecretCrypto crypto;
+    // `null` if session cache is disabled
+    private final VerifiedSessionCache sessionCache;
+    private final ThreadLocal<Buffers> buffers = new ThreadLocal<Buffers>() {
+        @Override
+        protected Buffers initialValue() {
+            return new Buffers();
+        }
+    };
 
     @Inject
     public DefaultSessionCodec(AppConfig conf, RotateSecretCrypto crypto) {
@@ -50,6 +58,8 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
         sessionWillExpire = ttlInMillis > 0;
         pingPath = conf.pingPath();
         encryptSession = conf.encryptSession();
+        int cacheSize = conf.sessionCacheSize();
+        sessionCache = cacheSize > 0 ? new VerifiedSessionCache(cacheSize) : null;
         this.crypto = $.requireNotNull(crypto);
     }
 
@@ -98,11 +108,22 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     public H.Session decodeSession(String encodedSession, H.Request request) {
         H.Session session = new H.Session();
         boolean newSession = true;
+        long now = $.ms();
         if (S.notBlank(encodedSession)) {
-            resolveFromCookieContent(session, encodedSession, true);
+            if (null == sessionCache) {
+                resolveFromCookieContent(session, encodedSession, true);
+            } else {
+                int generation = crypto.secretGeneration();
+                if (!sessionCache.restore(encodedSession, session, generation, now)) {
+                    resolveFromCookieContent(session, encodedSession, true);
+                    if (!session.isEmpty()) {
+                        sessionCache.put(encodedSession, session, generation, now);
+                    }
+                }
+            }
             newSession = false;
         }
-        session = processExpiration(session, $.ms(), newSession, sessionWillExpire, ttlInMillis, pingPath, request);
+        session = processExpiration(session, now, newSession, sessionWillExpire, ttlInMillis, pingPath, request);
         return session;
     }
 
@@ -117,97 +138,121 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
     }
 
     private void resolveFromCookieContent(H.KV<?> kv, String content, boolean isSession) {
-        String data = Codec.decodeUrl(content, Charsets.UTF_8);
-        if (isSession) {
-            if (encryptSession) {
+        Buffers buffers = this.buffers.get();
+        byte[] buf;
+        int len;
+        if (isSession && encryptSession) {
+            String data = Codec.decodeUrl(content, Charsets.UTF_8);
+            try {
+                data = crypto.decrypt(data);
+            } catch (Exception e) {
+                return;
+            }
+            buf = data.getBytes(Charsets.UTF_8);
+            len = buf.length;
+        } else {
+            ByteBuf in = buffers.in;
+            if (!in.putUrlDecoded(content)) {
+                // not something we generated
                 try {
-                    data = crypto.decrypt(data);
-                } catch (Exception e) {
+                    buf = Codec.decodeUrl(content, Charsets.UTF_8).getBytes(Charsets.UTF_8);
+                } catch (IllegalArgumentException e) {
                     return;
                 }
+                len = buf.length;
+            } else {
+                buf = in.bytes;
+                len = in.length;
             }
-            int firstDashIndex = data.indexOf("-");
+        }
+        int pos = 0;
+        if (isSession) {
+            int firstDashIndex = indexOf(buf, 0, len, '-');
             if (firstDashIndex < 0) {
                 return;
             }
-            String sign = data.substring(0, firstDashIndex);
-            data = data.substring(firstDashIndex + 1);
-            if (!crypto.verifySignature(data, sign)) {
+            pos = firstDashIndex + 1;
+            if (!crypto.verifySignature(buf, pos, len - pos, buf, 0, firstDashIndex)) {
                 return;
             }
+            buffers.lastSession.reset();
+            buffers.lastSession.put(buf, pos, len - pos);
+            buffers.lastCookie = content;
         }
-        List<char[]> pairs = split(data.toCharArray(), '\u0000');
-        if (pairs.isEmpty()) return;
-        for (char[] pair: pairs) {
-            List<char[]> kAndV = split(pair, '\u0001');
-            int sz = kAndV.size();
-            if (sz != 2) {
-                S.Buffer sb = S.newBuffer();
-                for (int i = 0; i < sz; ++i) {
-                    if (i > 0) sb.append(":");
-                    sb.append(Arrays.toString(kAndV.get(i)));
+        while (pos < len) {
+            int end = indexOf(buf, pos, len, '\u0000');
+            if (end < 0) {
+                end = len;
+            }
+            if (end > pos) {
+                int sep = indexOf(buf, pos, end, '\u0001');
+                if (sep <= pos || sep >= end - 1 || indexOf(buf, sep + 1, end, '\u0001') >= 0) {
+                    warn("unexpected KV string: %S", new String(buf, pos, end - pos, Charsets.UTF_8).replace('\u0001', ':'));
+                } else {
+                    kv.put(new String(buf, pos, sep - pos, Charsets.UTF_8), new String(buf, sep + 1, end - sep - 1, Charsets.UTF_8));
                 }
-                warn("unexpected KV string: %S", sb.toString());
-            } else {
-                kv.put(new String(kAndV.get(0)), new String(kAndV.get(1)));
             }
+            pos = end + 1;
         }
     }
 
-    private List<char[]> split(char[] content, char separator) {
-        int len = content.length;
-        if (0 == len) {
-            return C.list();
-        }
-        List<char[]> l = new ArrayList<>();
-        int start = 0;
-        for (int i = 0; i < len; ++i) {
-            char c = content[i];
-            if (c == separator) {
-                if (i == start) {
-                    start++;
-                    continue;
-                }
-                char[] ca = new char[i - start];
-                System.arraycopy(content, start, ca, 0, i - start);
-                l.add(ca);
-                start = i + 1;
+    private static int indexOf(byte[] buf, int from, int to, char c) {
+        for (int i = from; i < to; ++i) {
+            if (buf[i] == c) {
+                return i;
             }
         }
-        if (start == 0) {
-            l.add(content);
-        } else {
-            char[] ca = new char[len - start];
-            System.arraycopy(content, start, ca, 0, len - start);
-            l.add(ca);
-        }
-        return l;
+        return -1;
     }
 
     private String dissolveIntoCookieContent(H.KV<?> kv, boolean isSession) {
-        S.Buffer sb = S.buffer();
+        Buffers buffers = this.buffers.get();
+        ByteBuf out = buffers.out;
+        out.reset();
         int i = 0;
         for (Map.Entry<String, String> entry : kv.entrySet()) {
             if (i > 0) {
-                sb.append("\u0000");
+                out.put('\u0000');
             }
-            String k = entry.getKey();
-            String v = entry.getValue();
-            sb.append(k);
-            sb.append("\u0001");
-            sb.append(v);
+            out.putUtf8(entry.getKey());
+            out.put('\u0001');
+            out.putUtf8(String.valueOf(entry.getValue()));
             i++;
         }
-        String data = sb.toString();
-        if (isSession) {
-            String sign = crypto.sign(data);
-            data = S.concat(sign, "-", data);
-            if (encryptSession) {
-                data = crypto.encrypt(data);
+        if (!isSession) {
+            return urlEncode(null, out);
+        }
+        if (!crypto.isRotationEnabled() && null != buffers.lastCookie && buffers.lastSession.contentEquals(out)) {
+            // same content as the session cookie we received, no need to sign it again
+            return buffers.lastCookie;
+        }
+        String sign = crypto.sign(out.bytes, 0, out.length);
+        if (encryptSession) {
+            String data = S.concat(sign, "-", new String(out.bytes, 0, out.length, Charsets.UTF_8));
+            return Codec.encodeUrl(crypto.encrypt(data), Charsets.UTF_8);
+        }
+        return urlEncode(sign, out);
+    }
+
+    // produce the same result as `URLEncoder.encode(prefix + "-" + content, "UTF-8")`
+    private static String urlEncode(String prefix, ByteBuf content) {
+        StringBuilder sb = new StringBuilder(content.length + content.length / 2 + (null == prefix ? 0 : prefix.length() + 1));
+        if (null != prefix) {
+            sb.append(prefix).append('-');
+        }
+        byte[] bytes = content.bytes;
+        for (int i = 0, len = content.length; i < len; ++i) {
+            int b = bytes[i] & 0xFF;
+            if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+                    || b == '.' || b == '-' || b == '*' || b == '_') {
+                sb.append((char) b);
+            } else if (b == ' ') {
+                sb.append('+');
+            } else {
+                sb.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
             }
         }
-        data = Codec.encodeUrl(data, Charsets.UTF_8);
-        return data;
+        return sb.toString();
     }
 
     static H.Session processExpiration(H.Session session, long now, boolean newSession, boolean sessionWillExpire, int ttlInMillis, String pingPath, H.Request request) {
@@ -244,6 +289,139 @@ public class DefaultSessionCodec extends LogSupportedDestroyableBase implements
         return session;
     }
 
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Growable byte buffer used to encode/decode cookie content
+     * without creating intermediate strings and arrays.
+     */
+    private static final class ByteBuf {
+        byte[] bytes = new byte[512];
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void put(char c) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) c;
+        }
+
+        void put(byte[] src, int offset, int len) {
+            ensureCapacity(len);
+            System.arraycopy(src, offset, bytes, length, len);
+            length += len;
+        }
+
+        // same as `String.getBytes(UTF_8)` including replacing
+        // malformed surrogates with `?`
+        void putUtf8(String s) {
+            int len = s.length();
+            ensureCapacity(len * 3);
+            byte[] b = bytes;
+            int n = length;
+            for (int i = 0; i < len; ++i) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    b[n++] = (byte) c;
+                } else if (c < 0x800) {
+                    b[n++] = (byte) (0xC0 | (c >> 6));
+                    b[n++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, s.charAt(++i));
+                        b[n++] = (byte) (0xF0 | (cp >> 18));
+                        b[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        b[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        b[n++] = (byte) (0x80 | (cp & 0x3F));
+                    } else {
+                        b[n++] = '?';
+                    }
+                } else {
+                    b[n++] = (byte) (0xE0 | (c >> 12));
+                    b[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    b[n++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            length = n;
+        }
+
+        /**
+         * Replace the content with URL decoded bytes of `s`.
+         *
+         * @return `false` if `s` is not a plain ASCII, well formed URL encoded string
+         */
+        boolean putUrlDecoded(String s) {
+            reset();
+            int len = s.length();
+            ensureCapacity(len);
+            byte[] b = bytes;
+            int n = 0;
+            for (int i = 0; i < len; ++i) {
+                char c = s.charAt(i);
+                if ('+' == c) {
+                    b[n++] = ' ';
+                } else if ('%' == c) {
+                    if (i + 2 >= len) {
+                        return false;
+                    }
+                    int hi = hex(s.charAt(++i));
+                    int lo = hex(s.charAt(++i));
+                    if (hi < 0 || lo < 0) {
+                        return false;
+                    }
+                    b[n++] = (byte) ((hi << 4) | lo);
+                } else if (c < 0x80) {
+                    b[n++] = (byte) c;
+                } else {
+                    return false;
+                }
+            }
+            length = n;
+            return true;
+        }
+
+        boolean contentEquals(ByteBuf that) {
+            if (length != that.length) {
+                return false;
+            }
+            byte[] b1 = bytes, b2 = that.bytes;
+            for (int i = length - 1; i >= 0; --i) {
+                if (b1[i] != b2[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void ensureCapacity(int extra) {
+            int required = length + extra;
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+            }
+        }
+
+        private static int hex(char c) {
+            if (c >= '0' && c <= '9') {
+                return c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                return c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                return c - 'A' + 10;
+            }
+            return -1;
+        }
+    }
+
+    private static final class Buffers {
+        final ByteBuf in = new ByteBuf();
+        final ByteBuf out = new ByteBuf();
+        // content and raw cookie value of the last session verified on this thread
+        final ByteBuf lastSession = new ByteBuf();
+        String lastCookie;
+    }
+
     public static void main(String[] args) {
         AppCrypto crypto = new AppCrypto("abc");
         String s = "hello world";
@@ -40,6 +40,7 @@ public class RotationSecretProvider {
     private String nextSecret;
     private int periodInMinutes;
     private boolean rotateEnabled;
+    private volatile int generation;
 
     @Inject
     public RotationSecretProvider(App app) {
@@ -63,6 +64,18 @@ public class RotationSecretProvider {
         return rotateEnabled;
     }
 
+    /**
+     * Returns a number that changes each time the secret rotates.
+     *
+     * Data verified with the secrets of an earlier generation
+     * shall be verified again.
+     *
+     * @return the current secret generation
+     */
+    public int generation() {
+        return generation;
+    }
+
     public String rawSecret() {
         return rawSecret;
     }
@@ -116,6 +129,7 @@ public class RotationSecretProvider {
         if (null == lastSecret) {
             lastSecret = curSecret;
         }
+        generation++;
     }
 
     private String calculateCurrentSecret() {
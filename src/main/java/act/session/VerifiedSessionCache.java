@@ -0,0 +1,156 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Session.KEY_EXPIRATION;
+
+import org.osgl.http.H;
+import org.osgl.util.S;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache maps session cookie values to the key/value
+ * pairs resolved from them.
+ *
+ * Lookups are lock free. When the cache is full an entry that has not
+ * been accessed since the last eviction pass is evicted (second chance),
+ * which approximates LRU without making every lookup a write.
+ *
+ * Only cookies that passed signature verification (and decryption)
+ * are put into the cache, so a hit means the crypto work can be
+ * skipped. Entries are dropped when:
+ *
+ * * the session expiration timestamp stored in the cookie passed
+ * * the entry has been cached for more than 10 minutes
+ * * the secret rotated since the cookie was verified
+ */
+class VerifiedSessionCache {
+
+    private static final long MAX_AGE = TimeUnit.MINUTES.toMillis(10);
+
+    private static final class Snapshot {
+        // immutable snapshot: key0, val0, key1, val1 ...
+        final String[] pairs;
+        final int generation;
+        final long expiresAt;
+        volatile boolean accessed;
+
+        Snapshot(String[] pairs, int generation, long expiresAt) {
+            this.pairs = pairs;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ConcurrentMap<String, Snapshot> entries = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    VerifiedSessionCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Load the pairs of a previously verified cookie into `kv`.
+     *
+     * @param cookie the cookie value
+     * @param kv the session to be populated
+     * @param generation the current secret generation
+     * @param now the current timestamp in milliseconds
+     * @return `true` if the cookie is found in the cache
+     */
+    boolean restore(String cookie, H.KV<?> kv, int generation, long now) {
+        Snapshot snapshot = entries.get(cookie);
+        if (null == snapshot) {
+            return false;
+        }
+        if (snapshot.generation != generation || snapshot.expiresAt < now) {
+            entries.remove(cookie, snapshot);
+            return false;
+        }
+        if (!snapshot.accessed) {
+            snapshot.accessed = true;
+        }
+        String[] pairs = snapshot.pairs;
+        for (int i = 0; i < pairs.length; i += 2) {
+            kv.put(pairs[i], pairs[i + 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Cache the pairs resolved from a verified cookie.
+     *
+     * @param cookie the cookie value
+     * @param kv the session resolved from the cookie
+     * @param generation the secret generation used to verify the cookie
+     * @param now the current timestamp in milliseconds
+     */
+    void put(String cookie, H.KV<?> kv, int generation, long now) {
+        String[] pairs = new String[kv.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> entry : kv.entrySet()) {
+            pairs[i++] = entry.getKey();
+            pairs[i++] = entry.getValue();
+        }
+        long expiresAt = now + MAX_AGE;
+        String expiration = kv.get(KEY_EXPIRATION);
+        if (S.isIntOrLong(expiration)) {
+            expiresAt = Math.min(expiresAt, Long.parseLong(expiration));
+        }
+        Snapshot snapshot = new Snapshot(pairs, generation, expiresAt);
+        entries.put(cookie, snapshot);
+        if (entries.size() > capacity) {
+            evict(cookie, now);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // evict an expired entry or one not accessed since last pass, the entry
+    // just put is skipped. Concurrent puts might evict more than needed,
+    // which is fine for a cache
+    private void evict(String justPut, long now) {
+        for (int pass = 0; pass < 2; ++pass) {
+            Iterator<Map.Entry<String, Snapshot>> itr = entries.entrySet().iterator();
+            while (itr.hasNext()) {
+                Map.Entry<String, Snapshot> entry = itr.next();
+                if (justPut.equals(entry.getKey())) {
+                    continue;
+                }
+                Snapshot snapshot = entry.getValue();
+                if (snapshot.accessed && snapshot.expiresAt >= now) {
+                    snapshot.accessed = false;
+                } else {
+                    itr.remove();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -249,6 +249,16 @@ public interface ActContext<CTX_TYPE extends ActContext> extends ParamValueProvi
 
     String dateFormatPattern();
 
+    /**
+     * Set the {@link FastJsonSerializationPlan} prepared by the request handler.
+     *
+     * @param plan the serialization plan
+     * @return this context
+     */
+    CTX_TYPE fastjsonSerializationPlan(FastJsonSerializationPlan plan);
+
+    FastJsonSerializationPlan fastjsonSerializationPlan();
+
     boolean isDisableCircularReferenceDetect();
 
     boolean isAllowIgnoreParamNamespace();
@@ -291,6 +301,7 @@ public interface ActContext<CTX_TYPE extends ActContext> extends ParamValueProvi
         private SerializerFeature[] fastjsonFeatures;
         private PropertyNamingStrategy fastJsonPropertyNamingStrategy;
         private String dateFormatPattern;
+        private FastJsonSerializationPlan fastjsonSerializationPlan;
         private boolean disableCircularReferenceDetect = true;
         private boolean propertySpecConsumed;
 
@@ -404,6 +415,15 @@ public interface ActContext<CTX_TYPE extends ActContext> extends ParamValueProvi
             return dateFormatPattern(false);
         }
 
+        public CTX fastjsonSerializationPlan(FastJsonSerializationPlan plan) {
+            this.fastjsonSerializationPlan = plan;
+            return me();
+        }
+
+        public FastJsonSerializationPlan fastjsonSerializationPlan() {
+            return fastjsonSerializationPlan;
+        }
+
         public String dateFormatPattern(boolean required) {
             String ptn = this.dateFormatPattern;
             return null == ptn && required ? config().datePattern() : ptn;
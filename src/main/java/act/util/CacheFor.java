@@ -25,8 +25,8 @@ import org.osgl.util.E;
 import org.osgl.util.S;
 
 import java.lang.annotation.*;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 
 /**
@@ -109,10 +109,24 @@ public @interface CacheFor {
      */
     boolean noCache() default false;
 
+    /**
+     * Specify the time in seconds an expired cache entry can still be served
+     * while the cache is being refreshed.
+     *
+     * When set to a positive number, only one request runs the action to
+     * refresh an expired entry, all other requests on the same cache key are
+     * served with the stale copy until the refresh finished.
+     *
+     * Default value: `0`, i.e. expired entry is never served
+     *
+     * @return the stale-while-revalidate window in seconds
+     */
+    int staleWhileRevalidate() default 0;
+
     @Singleton
     class Manager extends LogSupportedDestroyableBase {
 
-        private Map<String, RequestHandlerProxy> proxyLookup = new HashMap<>();
+        private Map<String, RequestHandlerProxy> proxyLookup = new ConcurrentHashMap<>();
 
         @Override
         protected void releaseResources() {
@@ -0,0 +1,233 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Map class name to bytecode without keeping the bytecode in the heap.
+ *
+ * For classes found in jar files the index keeps only the jar file and the
+ * entry name, for class files it keeps the file; the bytecode is read when
+ * it is requested. Bytecode {@link #put(String, byte[]) put} into the index
+ * directly, e.g. compiled from source, is kept as it is.
+ *
+ * Jar files are opened on the first read and kept open until {@link #release()}
+ * is called, after which they will be opened again on demand.
+ *
+ * Like {@link HashMap} this class is not thread safe.
+ */
+public class ClassBytecodeIndex extends AbstractMap<String, byte[]> {
+
+    // values are either byte[], File or JarEntryRef
+    private final Map<String, Object> index = new HashMap<>();
+    private final Map<String, JarSource> jars = new HashMap<>();
+
+    /**
+     * Add a class found in a jar file into the index.
+     *
+     * @param className the class name
+     * @param jarFile the jar file
+     * @param entry the jar entry of the class
+     */
+    public void add(String className, JarFile jarFile, JarEntry entry) {
+        String path = jarFile.getName();
+        JarSource source = jars.get(path);
+        if (null == source) {
+            source = new JarSource(new File(path));
+            jars.put(path, source);
+        }
+        index.put(className, new JarEntryRef(source, entry.getName(), entry.getSize()));
+    }
+
+    /**
+     * Add a class file into the index.
+     *
+     * @param className the class name
+     * @param classFile the class file
+     */
+    public void add(String className, File classFile) {
+        index.put(className, classFile);
+    }
+
+    @Override
+    public byte[] get(Object className) {
+        return bytecode(index.get(className));
+    }
+
+    @Override
+    public boolean containsKey(Object className) {
+        return index.containsKey(className);
+    }
+
+    @Override
+    public byte[] put(String className, byte[] bytecode) {
+        return bytecode(index.put(className, bytecode));
+    }
+
+    @Override
+    public byte[] remove(Object className) {
+        return bytecode(index.remove(className));
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        release();
+        jars.clear();
+    }
+
+    /**
+     * Returns the class names in the index. Removing class names from the
+     * set returned removes the classes from the index.
+     *
+     * @return the class names
+     */
+    @Override
+    public Set<String> keySet() {
+        return index.keySet();
+    }
+
+    /**
+     * Returns the entries of this index. The bytecode of an entry is read
+     * when the iterator reaches the entry.
+     *
+     * @return the entries
+     */
+    @Override
+    public Set<Entry<String, byte[]>> entrySet() {
+        return new AbstractSet<Entry<String, byte[]>>() {
+            @Override
+            public Iterator<Entry<String, byte[]>> iterator() {
+                final Iterator<Entry<String, Object>> itr = index.entrySet().iterator();
+                return new Iterator<Entry<String, byte[]>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return itr.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, byte[]> next() {
+                        Entry<String, Object> entry = itr.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), bytecode(entry.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        itr.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    /**
+     * Close the jar files opened to read bytecode.
+     */
+    public void release() {
+        for (JarSource source : jars.values()) {
+            source.close();
+        }
+    }
+
+    private static byte[] bytecode(Object o) {
+        if (null == o || o instanceof byte[]) {
+            return (byte[]) o;
+        } else if (o instanceof File) {
+            return IO.readContent((File) o);
+        }
+        return ((JarEntryRef) o).read();
+    }
+
+    private static class JarEntryRef {
+        private final JarSource source;
+        private final String entryName;
+        private final int size;
+
+        JarEntryRef(JarSource source, String entryName, long size) {
+            this.source = source;
+            this.entryName = entryName;
+            this.size = size > Integer.MAX_VALUE ? -1 : (int) size;
+        }
+
+        byte[] read() {
+            return source.read(entryName, size);
+        }
+    }
+
+    private static class JarSource {
+        private final File file;
+        private JarFile jarFile;
+
+        JarSource(File file) {
+            this.file = file;
+        }
+
+        synchronized byte[] read(String entryName, int size) {
+            try {
+                if (null == jarFile) {
+                    jarFile = new JarFile(file);
+                }
+                JarEntry entry = jarFile.getJarEntry(entryName);
+                if (null == entry) {
+                    throw E.unexpected("Jar entry not found: %s!%s", file.getPath(), entryName);
+                }
+                InputStream is = jarFile.getInputStream(entry);
+                if (size < 0) {
+                    return IO.readContent(is);
+                }
+                try {
+                    byte[] bytes = new byte[size];
+                    new DataInputStream(is).readFully(bytes);
+                    return bytes;
+                } finally {
+                    IO.close(is);
+                }
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+        }
+
+        synchronized void close() {
+            if (null != jarFile) {
+                IO.close(jarFile);
+                jarFile = null;
+            }
+        }
+    }
+
+}
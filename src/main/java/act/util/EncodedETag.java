@@ -0,0 +1,100 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.S;
+
+/**
+ * Derive the entity tag of a content encoded representation, e.g. a gzip
+ * compressed response, from the entity tag of the identity representation.
+ *
+ * The encoded representations are different byte sequences from the identity
+ * one, thus they shall not share the same strong entity tag, otherwise a shared
+ * cache might serve the gzip bytes to a client that does not accept gzip after
+ * revalidation. The encoding is appended to the opaque tag, e.g. `"abc"` becomes
+ * `"abc-gzip"`, and is stripped off from the conditional request headers before
+ * they are evaluated against the identity entity tag.
+ */
+public final class EncodedETag {
+
+    private static final String[] ENCODINGS = {"gzip", "br"};
+
+    private EncodedETag() {
+    }
+
+    /**
+     * Returns the entity tag of the representation encoded with `encoding`.
+     *
+     * @param etag the entity tag of the identity representation
+     * @param encoding the content encoding, e.g. `gzip`
+     * @return the entity tag of the encoded representation
+     */
+    public static String encode(String etag, String encoding) {
+        if (S.blank(etag)) {
+            return etag;
+        }
+        String suffix = S.concat("-", encoding);
+        int len = etag.length();
+        if (len > 1 && etag.charAt(len - 1) == '"') {
+            return S.concat(etag.substring(0, len - 1), suffix, "\"");
+        }
+        return S.concat(etag, suffix);
+    }
+
+    /**
+     * Strip off the content encoding from entity tags in a conditional
+     * request header, e.g. `If-None-Match`.
+     *
+     * @param header the header value
+     * @return the header value with the entity tags of the identity representation
+     */
+    public static String decode(String header) {
+        if (S.blank(header) || !header.contains("-")) {
+            return header;
+        }
+        S.Buffer buf = S.buffer();
+        boolean first = true;
+        for (String tag : S.fastSplit(header, ",")) {
+            if (!first) {
+                buf.append(",");
+            }
+            first = false;
+            buf.append(decodeTag(tag));
+        }
+        return buf.toString();
+    }
+
+    private static String decodeTag(String tag) {
+        String trimmed = tag.trim();
+        int len = trimmed.length();
+        boolean quoted = len > 1 && trimmed.charAt(len - 1) == '"';
+        String opaque = quoted ? trimmed.substring(0, len - 1) : trimmed;
+        for (String encoding : ENCODINGS) {
+            String suffix = S.concat("-", encoding);
+            if (opaque.endsWith(suffix)) {
+                opaque = opaque.substring(0, opaque.length() - suffix.length());
+                return quoted ? S.concat(opaque, "\"") : opaque;
+            }
+        }
+        return trimmed;
+    }
+
+}
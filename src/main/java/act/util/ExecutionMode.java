@@ -0,0 +1,214 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defines how blocking work, e.g. request handling and jobs, is executed.
+ *
+ * See {@link act.conf.ActConfigKey#EXECUTION_MODE}
+ */
+public enum ExecutionMode {
+
+    /**
+     * Run tasks on fixed size platform thread pools
+     */
+    PLATFORM() {
+        @Override
+        public ExecutorService createExecutor(String poolName, int parallelism) {
+            return null;
+        }
+    },
+
+    /**
+     * Run each task on a new virtual thread. Falls back to
+     * {@link #FORK_JOIN} if virtual thread is not supported by
+     * the running JVM (prior to JDK 21)
+     */
+    VIRTUAL() {
+        @Override
+        public ExecutorService createExecutor(String poolName, int parallelism) {
+            ExecutorService executor = virtualThreadExecutor(poolName);
+            if (null == executor) {
+                LOGGER.warn("virtual thread not supported, fall back to fork join pool for %s", poolName);
+                executor = FORK_JOIN.createExecutor(poolName, parallelism);
+            }
+            return executor;
+        }
+    },
+
+    /**
+     * Run tasks on a work stealing {@link ForkJoinPool}.
+     *
+     * Each task runs as a {@link ForkJoinPool.ManagedBlocker}, thus the pool
+     * adds threads when tasks block, e.g. on JDBC or HTTP client calls, and
+     * blocking tasks are not capped at the target parallelism.
+     */
+    FORK_JOIN() {
+        @Override
+        public ExecutorService createExecutor(final String poolName, int parallelism) {
+            final AtomicInteger threadNumber = new AtomicInteger(1);
+            ForkJoinPool.ForkJoinWorkerThreadFactory factory = new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+                @Override
+                public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName(poolName + "-fj-" + threadNumber.getAndIncrement());
+                    return thread;
+                }
+            };
+            // async mode: tasks are never joined, FIFO order suits event style tasks
+            return new ManagedBlockingExecutor(new ForkJoinPool(parallelism, factory, null, true));
+        }
+    };
+
+    private static final Logger LOGGER = LogManager.get(ExecutionMode.class);
+
+    /**
+     * Create an executor service for the pool specified.
+     *
+     * @param poolName the name of the pool, used to name the threads
+     * @param parallelism the target parallelism if a pool of threads is to be created
+     * @return the executor service or `null` if the caller shall use its own thread pool
+     */
+    public abstract ExecutorService createExecutor(String poolName, int parallelism);
+
+    /**
+     * Check if the running JVM supports virtual thread
+     *
+     * @return `true` if virtual thread is supported
+     */
+    public static boolean virtualThreadSupported() {
+        return null != virtualThreadFactory("probe");
+    }
+
+    private static ExecutorService virtualThreadExecutor(String poolName) {
+        ThreadFactory factory = virtualThreadFactory(poolName);
+        if (null == factory) {
+            return null;
+        }
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // runs each task as a managed blocker of the fork join pool
+    private static class ManagedBlockingExecutor extends AbstractExecutorService {
+
+        private final ForkJoinPool pool;
+
+        ManagedBlockingExecutor(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        ForkJoinPool.managedBlock(new BlockingTask(command));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            pool.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return pool.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return pool.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return pool.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return pool.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static class BlockingTask implements ForkJoinPool.ManagedBlocker {
+
+        private final Runnable task;
+        private boolean done;
+
+        BlockingTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                task.run();
+            } finally {
+                done = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+
+    // the API is available since JDK 21, we target JDK 8 thus use reflection here
+    private static ThreadFactory virtualThreadFactory(String poolName) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, poolName + "-vt-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
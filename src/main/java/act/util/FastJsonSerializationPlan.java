@@ -0,0 +1,217 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.alibaba.fastjson.PropertyNamingStrategy;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.osgl.util.S;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the fastjson serialization settings of a request handler - the
+ * features, the property naming strategy and the date format pattern -
+ * resolved once and shared by all the requests to the handler.
+ *
+ * A plan is immutable, the {@link SerializeConfig} is shared by all plans
+ * with the same naming strategy and the date formats are pooled per thread.
+ */
+public class FastJsonSerializationPlan {
+
+    // the SerializeConfig caches serializers, so we want to create one for each strategy only
+    private static final ConcurrentMap<PropertyNamingStrategy, SerializeConfig> namingConfigs = new ConcurrentHashMap<>();
+
+    static final int MAX_DATE_FORMATS = 256;
+
+    // date format pools keyed by pattern and then locale. The locale might
+    // come from the request, thus the number of pools is bounded by
+    // MAX_DATE_FORMATS
+    private static final ConcurrentMap<String, ConcurrentMap<Locale, ThreadLocal<SimpleDateFormat>>> dateFormats = new ConcurrentHashMap<>();
+    private static final AtomicInteger dateFormatCount = new AtomicInteger();
+
+    public static final FastJsonSerializationPlan DEFAULT = new FastJsonSerializationPlan(null, null, null);
+
+    private static final int FEATURE_FORMAT = 1;
+    private static final int FEATURE_DISABLE_CIRCULAR_REFERENCE_DETECT = 2;
+
+    private final SerializerFeature[] features;
+    private final PropertyNamingStrategy namingStrategy;
+    private final String dateFormatPattern;
+    private final SerializerFeature[][] featureVariants = new SerializerFeature[4][];
+    private final SerializeConfig serializeConfig;
+
+    public FastJsonSerializationPlan(SerializerFeature[] features, PropertyNamingStrategy namingStrategy, String dateFormatPattern) {
+        this.features = features;
+        this.namingStrategy = namingStrategy;
+        this.dateFormatPattern = dateFormatPattern;
+        this.serializeConfig = serializeConfig(namingStrategy);
+    }
+
+    /**
+     * Check if this plan is built from the settings specified.
+     *
+     * @param features the serializer features
+     * @param namingStrategy the property naming strategy
+     * @param dateFormatPattern the date format pattern
+     * @return `true` if this plan can be used for the settings specified
+     */
+    public boolean matches(SerializerFeature[] features, PropertyNamingStrategy namingStrategy, String dateFormatPattern) {
+        return this.features == features && this.namingStrategy == namingStrategy && S.eq(this.dateFormatPattern, dateFormatPattern);
+    }
+
+    public String dateFormatPattern() {
+        return dateFormatPattern;
+    }
+
+    public SerializeConfig serializeConfig() {
+        return serializeConfig;
+    }
+
+    /**
+     * Returns the serializer features including the handler features and
+     * the features required by the flags specified.
+     *
+     * **Note** the array returned is shared and shall not be changed.
+     *
+     * @param format whether to generate pretty formatted JSON
+     * @param disableCircularReferenceDetect whether to disable circular reference detect
+     * @return the features
+     */
+    public SerializerFeature[] features(boolean format, boolean disableCircularReferenceDetect) {
+        int variant = (format ? FEATURE_FORMAT : 0) | (disableCircularReferenceDetect ? FEATURE_DISABLE_CIRCULAR_REFERENCE_DETECT : 0);
+        SerializerFeature[] variantFeatures = featureVariants[variant];
+        if (null == variantFeatures) {
+            variantFeatures = buildFeatures(format, disableCircularReferenceDetect);
+            featureVariants[variant] = variantFeatures;
+        }
+        return variantFeatures;
+    }
+
+    private SerializerFeature[] buildFeatures(boolean format, boolean disableCircularReferenceDetect) {
+        Set<SerializerFeature> featureSet = EnumSet.noneOf(SerializerFeature.class);
+        if (format) {
+            featureSet.add(SerializerFeature.PrettyFormat);
+        }
+        if (null != features) {
+            featureSet.addAll(Arrays.asList(features));
+        }
+        if (disableCircularReferenceDetect) {
+            featureSet.add(SerializerFeature.DisableCircularReferenceDetect);
+        }
+        featureSet.add(SerializerFeature.WriteDateUseDateFormat);
+        return featureSet.toArray(new SerializerFeature[featureSet.size()]);
+    }
+
+    /**
+     * Returns the plan for the serialization settings of the context.
+     *
+     * The plan set to the context by the request handler is returned if the settings
+     * have not been changed since then, otherwise a plan is built for this call.
+     *
+     * @param context the context
+     * @return the serialization plan
+     */
+    public static FastJsonSerializationPlan of(ActContext<?> context) {
+        if (null == context) {
+            return DEFAULT;
+        }
+        SerializerFeature[] features = context.fastjsonFeatures();
+        PropertyNamingStrategy namingStrategy = context.fastjsonPropertyNamingStrategy();
+        String dateFormatPattern = context.dateFormatPattern();
+        FastJsonSerializationPlan plan = context.fastjsonSerializationPlan();
+        if (null != plan && plan.matches(features, namingStrategy, dateFormatPattern)) {
+            return plan;
+        }
+        if (DEFAULT.matches(features, namingStrategy, dateFormatPattern)) {
+            return DEFAULT;
+        }
+        return new FastJsonSerializationPlan(features, namingStrategy, dateFormatPattern);
+    }
+
+    /**
+     * Returns a date format of the pattern and locale specified. The instance
+     * returned is bound to the current thread, or is a new instance if
+     * {@link #MAX_DATE_FORMATS} date format pools have been created.
+     *
+     * @param pattern the date format pattern
+     * @param locale the locale
+     * @return the date format
+     */
+    public static DateFormat dateFormat(String pattern, Locale locale) {
+        ConcurrentMap<Locale, ThreadLocal<SimpleDateFormat>> byLocale = dateFormats.get(pattern);
+        if (null == byLocale) {
+            dateFormats.putIfAbsent(pattern, new ConcurrentHashMap<Locale, ThreadLocal<SimpleDateFormat>>());
+            byLocale = dateFormats.get(pattern);
+        }
+        ThreadLocal<SimpleDateFormat> pool = byLocale.get(locale);
+        if (null == pool) {
+            if (dateFormatCount.get() >= MAX_DATE_FORMATS) {
+                return new SimpleDateFormat(pattern, locale);
+            }
+            final String thePattern = pattern;
+            final Locale theLocale = locale;
+            if (null == byLocale.putIfAbsent(locale, new ThreadLocal<SimpleDateFormat>() {
+                @Override
+                protected SimpleDateFormat initialValue() {
+                    return new SimpleDateFormat(thePattern, theLocale);
+                }
+            })) {
+                dateFormatCount.incrementAndGet();
+            }
+            pool = byLocale.get(locale);
+        }
+        return pool.get();
+    }
+
+    /**
+     * Release the cached {@link SerializeConfig} and date formats.
+     *
+     * This method is called when app (re)starts.
+     */
+    public static void reset() {
+        namingConfigs.clear();
+        dateFormats.clear();
+        dateFormatCount.set(0);
+    }
+
+    private static SerializeConfig serializeConfig(PropertyNamingStrategy namingStrategy) {
+        if (null == namingStrategy) {
+            return SerializeConfig.getGlobalInstance();
+        }
+        SerializeConfig config = namingConfigs.get(namingStrategy);
+        if (null == config) {
+            SerializeConfig newConfig = new SerializeConfig();
+            newConfig.propertyNamingStrategy = namingStrategy;
+            config = namingConfigs.putIfAbsent(namingStrategy, newConfig);
+            if (null == config) {
+                config = newConfig;
+            }
+        }
+        return config;
+    }
+
+}
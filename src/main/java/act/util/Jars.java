@@ -45,7 +45,7 @@ public enum Jars {
     private static Logger logger = L.get(Jars.class);
 
     public static Map<String, byte[]> buildClassNameIndex(File dir) {
-        return buildClassNameIndex(dir, $.F.FALSE);
+        return buildClassNameIndex(dir, $.F.<String>no());
     }
 
     public static Map<String, byte[]> buildClassNameIndex(File dir, final $.Function<String, Boolean> ignoredClassNames) {
@@ -56,7 +56,7 @@ public enum Jars {
     }
 
     public static Map<String, byte[]> buildClassNameIndex(List<File> jars) {
-        return buildClassNameIndex(jars, $.F.FALSE);
+        return buildClassNameIndex(jars, $.F.<String>no());
     }
 
     public static Map<String, byte[]> buildClassNameIndex(List<File> jars, final $.Func1<String, Boolean> ignoredClassNames) {
@@ -66,6 +66,34 @@ public enum Jars {
         return idx;
     }
 
+    /**
+     * Build a {@link ClassBytecodeIndex} of the classes in the jar files.
+     *
+     * Unlike {@link #buildClassNameIndex(List)} the bytecode is not read until
+     * it is requested from the index.
+     *
+     * @param jars the jar files
+     * @return the class index
+     */
+    public static ClassBytecodeIndex buildClassIndex(List<File> jars) {
+        ClassBytecodeIndex idx = new ClassBytecodeIndex();
+        scanList(jars, F.classIndexBuilder(idx, $.F.<String>no()));
+        return idx;
+    }
+
+    /**
+     * Build a {@link ClassBytecodeIndex} of the classes in the jar files
+     * in the dir specified.
+     *
+     * @param dir the dir contains jar files
+     * @return the class index
+     */
+    public static ClassBytecodeIndex buildClassIndex(File dir) {
+        ClassBytecodeIndex idx = new ClassBytecodeIndex();
+        scanDir(dir, F.classIndexBuilder(idx, $.F.<String>no()));
+        return idx;
+    }
+
     /**
      * If the class is loaded from a Jar file, then return that file. Otherwise
      * return {@code null}
@@ -200,6 +228,19 @@ public enum Jars {
             };
         }
 
+        public static JarEntryVisitor classIndexBuilder(final ClassBytecodeIndex idx, final $.Function<String, Boolean> ignoredClassNames) {
+            return new F.JarEntryVisitor() {
+                @Override
+                public Void apply(JarFile jarFile, JarEntry entry) throws NotAppliedException, $.Break {
+                    String className = ClassNames.classFileNameToClassName(entry.getName());
+                    if (!ignoredClassNames.apply(className)) {
+                        idx.add(className, jarFile, entry);
+                    }
+                    return null;
+                }
+            };
+        }
+
         /**
          * Visit properties files in Jar file and add the file content to map indexed by env tag.
          * For example, a jar entry named "conf/dev/abc.properties", the content will be loaded into a properties
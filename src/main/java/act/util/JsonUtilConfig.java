@@ -32,7 +32,6 @@ import act.conf.AppConfig;
 import act.data.DataPropertyRepository;
 import act.event.SysEventListenerBase;
 import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.PropertyNamingStrategy;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.serializer.*;
 import com.alibaba.fastjson.util.TypeUtils;
@@ -48,7 +47,6 @@ import org.osgl.util.*;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class JsonUtilConfig {
@@ -89,7 +87,8 @@ public class JsonUtilConfig {
                 this.v = v;
                 AppConfig config = Act.appConfig();
                 Locale locale = null == context ? config.locale() : context.locale(true);
-                String dateFormatPattern = null == context ? null : context.dateFormatPattern();
+                FastJsonSerializationPlan plan = FastJsonSerializationPlan.of(context);
+                String dateFormatPattern = plan.dateFormatPattern();
                 if (S.blank(dateFormatPattern)) {
                     if (context instanceof ActionContext && ((ActionContext) context).shouldSuppressJsonDateFormat()) {
                         this.dateFormat = null;
@@ -98,16 +97,16 @@ public class JsonUtilConfig {
                             this.dateFormat = config.dateTimeFormat();
                         } else {
                             dateFormatPattern = config.localizedDateTimePattern(locale);
-                            this.dateFormat = new SimpleDateFormat(dateFormatPattern, locale);
+                            this.dateFormat = FastJsonSerializationPlan.dateFormat(dateFormatPattern, locale);
                         }
                     }
                 } else {
-                    this.dateFormat = new SimpleDateFormat(dateFormatPattern, locale);
+                    this.dateFormat = FastJsonSerializationPlan.dateFormat(dateFormatPattern, locale);
                 }
                 this.disableCircularReferenceDetect = null == spec && context.isDisableCircularReferenceDetect();
                 this.filters = initFilters(v, spec, context);
-                this.features = initFeatures(format, context);
-                this.config = initConfig(context);
+                this.features = plan.features(format, disableCircularReferenceDetect);
+                this.config = plan.serializeConfig();
                 this.isLargeResponse = context instanceof ActionContext && ((ActionContext) context).isLargeResponse();
             }
         }
@@ -134,37 +133,6 @@ public class JsonUtilConfig {
             return filterSet.toArray(new SerializeFilter[filterSet.size()]);
         }
 
-        private SerializeConfig initConfig(ActContext context) {
-            SerializeConfig config = SerializeConfig.getGlobalInstance();
-            PropertyNamingStrategy propertyNamingStrategy = context.fastjsonPropertyNamingStrategy();
-            if (null == propertyNamingStrategy) {
-                return config;
-            }
-            config = new SerializeConfig();
-            config.propertyNamingStrategy = propertyNamingStrategy;
-            return config;
-        }
-
-        private SerializerFeature[] initFeatures(boolean format, ActContext context) {
-            Set<SerializerFeature> featureSet = new HashSet<>();
-            if (format) {
-                featureSet.add(SerializerFeature.PrettyFormat);
-            }
-            if (null != context) {
-                SerializerFeature[] features = context.fastjsonFeatures();
-                if (null != features) {
-                    for (SerializerFeature f : features) {
-                        featureSet.add(f);
-                    }
-                }
-            }
-            if (disableCircularReferenceDetect) {
-                featureSet.add(SerializerFeature.DisableCircularReferenceDetect);
-            }
-            featureSet.add(SerializerFeature.WriteDateUseDateFormat);
-            return featureSet.toArray(new SerializerFeature[featureSet.size()]);
-        }
-
         private FastJsonPropertyPreFilter initPropertyPreFilter(Object v, PropertySpec.MetaInfo spec, ActContext context) {
             if (null != context) {
                 PropertySpec.MetaInfo withCurrent = PropertySpec.MetaInfo.withCurrent(spec, context);
@@ -240,6 +208,8 @@ public class JsonUtilConfig {
         parserConfig.putDeserializer(ISObject.class, sObjectCodec);
         parserConfig.putDeserializer(SObject.class, sObjectCodec);
 
+        FastJsonSerializationPlan.reset();
+
         MvcConfig.jsonSerializer(new $.Func2<Writer, Object, Void>() {
             @Override
             public Void apply(Writer writer, Object v) throws NotAppliedException, $.Break {
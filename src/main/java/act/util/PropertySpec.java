@@ -145,6 +145,9 @@ public @interface PropertySpec {
 
         public static class Spec extends $.T3<List<String>, Set<String>, Map<String, String>> {
 
+            // identity key of this spec, see MetaInfo.identityKey(ActContext)
+            private final Object key = new Object();
+
             Spec() {
                 super(C.<String>newList(), C.<String>newSet(), C.<String, String>newMap());
             }
@@ -191,6 +194,9 @@ public @interface PropertySpec {
         private String cliRaw;
         private String httpRaw;
 
+        // a spec declared on a handler method is shared by all calls to the handler
+        private volatile boolean declared;
+
         public void onValue(String value) {
             commonRaw = value;
             _on(value, common);
@@ -206,6 +212,35 @@ public @interface PropertySpec {
             _on(value, http);
         }
 
+        /**
+         * Mark this spec as declared on a handler method.
+         *
+         * @return this spec
+         */
+        public MetaInfo markDeclared() {
+            declared = true;
+            return this;
+        }
+
+        public boolean isDeclared() {
+            return declared;
+        }
+
+        /**
+         * Returns a key identifies the spec applied to the context if this spec
+         * is {@link #isDeclared() declared} on a handler method, or `null` if it
+         * is an ad hoc spec, e.g. built from request parameter.
+         *
+         * The key is precomputed and can be used to cache data derived from
+         * the spec without comparing the output and excluded fields.
+         *
+         * @param context the current context
+         * @return the identity key or `null` if this spec is not declared
+         */
+        public Object identityKey(ActContext context) {
+            return declared ? spec(context).key : null;
+        }
+
         public void ensureValid() {
             if (common.isEmpty() && http.isEmpty() && cli.isEmpty()) {
                 throw new IllegalStateException("no spec defined");
@@ -0,0 +1,109 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.$;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run tasks one after another, in the order they are submitted, on
+ * a shared executor.
+ *
+ * Each task is submitted to the backing executor separately, thus
+ * many serial executors can share the same thread pool without one
+ * busy serial executor starving the others.
+ *
+ * If the backing executor rejects the tasks, the pending tasks are
+ * dropped, so that tasks submitted later are run once the backing
+ * executor accepts tasks again.
+ */
+public class SerialExecutor implements Executor {
+
+    private static final Logger LOGGER = LogManager.get(SerialExecutor.class);
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Runnable runner = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                tasks.poll().run();
+            } finally {
+                if (size.decrementAndGet() > 0) {
+                    try {
+                        schedule();
+                    } catch (RejectedExecutionException e) {
+                        // pending tasks have been dropped and logged
+                    }
+                }
+            }
+        }
+    };
+
+    public SerialExecutor(Executor executor) {
+        this.executor = $.requireNotNull(executor);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer($.requireNotNull(task));
+        if (size.getAndIncrement() == 0) {
+            schedule();
+        }
+    }
+
+    // submit the runner to the backing executor. If it is rejected, drop
+    // the pending tasks one by one until the runner gets accepted or there
+    // is no task left, otherwise the size never drops to zero and no task
+    // submitted later would submit the runner again
+    private void schedule() {
+        while (true) {
+            try {
+                executor.execute(runner);
+                return;
+            } catch (RejectedExecutionException e) {
+                tasks.poll();
+                LOGGER.warn("task dropped: rejected by backing executor");
+                if (size.decrementAndGet() == 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks submitted but not finished yet
+     * @return the number of pending tasks
+     */
+    public int size() {
+        return size.get();
+    }
+
+}
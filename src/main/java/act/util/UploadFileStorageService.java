@@ -36,6 +36,9 @@ import org.osgl.util.IO;
 import org.osgl.util.S;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.Map;
 
 public class UploadFileStorageService extends FileSystemService {
@@ -82,7 +85,16 @@ public class UploadFileStorageService extends FileSystemService {
         File tmpFile = getFile(key);
         InputStream input = fileItemStream.openStream();
         ThresholdingByteArrayOutputStream output = new ThresholdingByteArrayOutputStream(inMemoryCacheThreshold, tmpFile);
-        IO.copy(input, output);
+        try {
+            byte[] chunk = COPY_BUFFER.get();
+            int n;
+            while ((n = input.read(chunk)) > -1) {
+                output.write(chunk, 0, n);
+            }
+        } finally {
+            IO.close(input);
+            IO.close(output);
+        }
 
         ISObject retVal;
         if (output.exceedThreshold) {
@@ -113,26 +125,39 @@ public class UploadFileStorageService extends FileSystemService {
         return S.pathConcat(getKey(Act.cuid()), '/', filename);
     }
 
+    // buffer used to copy part content from request, reused by the thread
+    private static final ThreadLocal<byte[]> COPY_BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[8 * 1024];
+        }
+    };
+
+    // initial in memory buffer size, most form fields fit in
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
     /**
      * The idea come from apache-commons-IO's `ThresholdingOutputStream`
      *
      * Before threshold exceeded the data is written into internal byte array buffer, once
      * threshold is reached then the internal byte array buffer will be dumped into the
-     * second output stream and remaining written will be redirected to the second output
-     * stream also
+     * file and remaining written will be redirected to the file also.
+     *
+     * The internal buffer starts small and grows up to the threshold as data come in,
+     * thus small form fields do not allocate a threshold sized buffer.
      */
     private static class ThresholdingByteArrayOutputStream extends ByteArrayOutputStream {
         private int threshold;
         private int written;
         private boolean exceedThreshold;
         private File file;
-        private OutputStream fileOutputStream;
+        private FileChannel fileChannel;
 
         public ThresholdingByteArrayOutputStream(int threshold, File file) {
+            super(INITIAL_BUFFER_SIZE);
             if (threshold < 1024) {
                 threshold = 1024;
             }
-            buf = new byte[threshold];
             this.threshold = threshold;
             this.file = $.requireNotNull(file);
         }
@@ -140,13 +165,10 @@ public class UploadFileStorageService extends FileSystemService {
         @Override
         public synchronized void write(int b) {
             if (!checkThresholding(1)) {
+                ensureCapacity(count + 1);
                 super.write(b);
             } else {
-                try {
-                    fileOutputStream.write(b);
-                } catch (IOException e) {
-                    throw E.ioException(e);
-                }
+                writeToFile(ByteBuffer.wrap(new byte[]{(byte) b}));
             }
             written++;
         }
@@ -154,28 +176,18 @@ public class UploadFileStorageService extends FileSystemService {
         @Override
         public synchronized void write(byte[] b, int off, int len) {
             if (!checkThresholding(len)) {
+                ensureCapacity(count + len);
                 super.write(b, off, len);
             } else {
-                try {
-                    fileOutputStream.write(b, off, len);
-                } catch (IOException e) {
-                    throw E.ioException(e);
-                }
+                writeToFile(ByteBuffer.wrap(b, off, len));
             }
             written += len;
         }
 
-        @Override
-        public void flush() throws IOException {
-            if (exceedThreshold) {
-                fileOutputStream.flush();
-            }
-        }
-
         @Override
         public void close() throws IOException {
             if (exceedThreshold) {
-                IO.close(fileOutputStream);
+                fileChannel.close();
             }
         }
 
@@ -183,25 +195,45 @@ public class UploadFileStorageService extends FileSystemService {
             return this.buf;
         }
 
+        // grow by doubling but never beyond threshold
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > buf.length) {
+                int newCapacity = Math.min(threshold, Math.max(buf.length << 1, minCapacity));
+                buf = Arrays.copyOf(buf, newCapacity);
+            }
+        }
+
         private boolean checkThresholding(int bytes) {
             if (!exceedThreshold && (written + bytes > threshold)) {
                 exceedThreshold = true;
-                fileOutputStream = createFileOutputStream();
-                try {
-                    fileOutputStream.write(buf, 0, written);
-                } catch (IOException e) {
-                    throw E.ioException(e);
-                }
+                fileChannel = createFileChannel();
+                writeToFile(ByteBuffer.wrap(buf, 0, written));
+                // release the in memory buffer
+                buf = null;
             }
             return exceedThreshold;
         }
 
-        private OutputStream createFileOutputStream() {
+        private void writeToFile(ByteBuffer buffer) {
+            try {
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+        }
+
+        private FileChannel createFileChannel() {
             File dir = file.getParentFile();
             if (!dir.exists() && !dir.mkdirs()) {
                 throw E.ioException("Cannot create dir: " + dir.getAbsolutePath());
             }
-            return IO.buffered(IO.outputStream(file));
+            try {
+                return new FileOutputStream(file).getChannel();
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
         }
     }
 
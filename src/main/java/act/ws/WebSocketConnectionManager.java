@@ -31,8 +31,9 @@ import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
 import org.osgl.util.C;
 
-import java.util.Collection;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.concurrent.*;
 
 /**
@@ -139,15 +140,31 @@ public class WebSocketConnectionManager extends AppServiceBase<WebSocketConnecti
         sendToConnections(message, tagRegistry(), label);
     }
 
+    /**
+     * Send binary message to all connections connected to give URL
+     * @param message the binary message
+     * @param url the url
+     */
+    public void sendBinaryToUrl(ByteBuffer message, String url) {
+        broadcastBinary(message, urlRegistry().get(url));
+    }
+
+    /**
+     * Send binary message to all connections tagged with given label
+     * @param message the binary message
+     * @param label the tag label
+     */
+    public void sendBinaryToTagged(ByteBuffer message, String label) {
+        broadcastBinary(message, tagRegistry().get(label));
+    }
+
     /**
      * Send message to all connections tagged with all given tags
      * @param message the message
      * @param labels the tag labels
      */
     public void sendToTagged(String message, String ... labels) {
-        for (String label : labels) {
-            sendToTagged(message, label);
-        }
+        sendToTagged(message, Arrays.asList(labels));
     }
 
     /**
@@ -156,8 +173,19 @@ public class WebSocketConnectionManager extends AppServiceBase<WebSocketConnecti
      * @param labels the tag labels
      */
     public void sendToTagged(String message, Collection<String> labels) {
+        if (labels.isEmpty()) {
+            return;
+        }
+        ByteBuffer payload = null;
         for (String label : labels) {
-            sendToTagged(message, label);
+            List<WebSocketConnection> connections = tagRegistry().get(label);
+            if (connections.isEmpty()) {
+                continue;
+            }
+            if (null == payload) {
+                payload = encode(message);
+            }
+            broadcast(payload, false, connections);
         }
     }
 
@@ -177,9 +205,7 @@ public class WebSocketConnectionManager extends AppServiceBase<WebSocketConnecti
      * @param labels the tag labels
      */
     public void sendJsonToTagged(Object data, String ... labels) {
-        for (String label : labels) {
-            sendJsonToTagged(data, label);
-        }
+        sendToTagged(JSON.toJSONString(data), labels);
     }
 
     /**
@@ -188,9 +214,7 @@ public class WebSocketConnectionManager extends AppServiceBase<WebSocketConnecti
      * @param labels the tag labels
      */
     public void sendJsonToTagged(Object data, Collection<String> labels) {
-        for (String label : labels) {
-            sendJsonToTagged(data, label);
-        }
+        sendToTagged(JSON.toJSONString(data), labels);
     }
 
     /**
@@ -252,12 +276,89 @@ public class WebSocketConnectionManager extends AppServiceBase<WebSocketConnecti
         }
     }
 
-    private void sendToConnections(String message, WebSocketConnectionRegistry registry, String key) {
-        for (WebSocketConnection conn : registry.get(key)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("send to websocket connection by key: %s", key);
+    /**
+     * Send a text message to a group of connections.
+     *
+     * The message is encoded only once and the encoded bytes are shared
+     * by all connections. Connections are grouped by their IO thread so that
+     * each IO thread gets one task for the whole batch.
+     *
+     * @param message the message
+     * @param connections the connections
+     */
+    public void broadcast(String message, Collection<? extends WebSocketConnection> connections) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        broadcast(encode(message), false, connections);
+    }
+
+    /**
+     * Send a binary message to a group of connections.
+     *
+     * The buffer is shared by all connections, thus it shall not be
+     * changed until all messages have been sent out.
+     *
+     * @param message the binary message
+     * @param connections the connections
+     */
+    public void broadcastBinary(ByteBuffer message, Collection<? extends WebSocketConnection> connections) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        broadcast(message, true, connections);
+    }
+
+    private void broadcast(final ByteBuffer payload, final boolean binary, Collection<? extends WebSocketConnection> connections) {
+        Map<Executor, List<WebSocketConnection>> batches = new HashMap<>();
+        for (WebSocketConnection conn : connections) {
+            Executor executor = conn.ioExecutor();
+            if (null == executor) {
+                send(conn, payload, binary);
+                continue;
             }
-            conn.send(message);
+            List<WebSocketConnection> batch = batches.get(executor);
+            if (null == batch) {
+                batch = new ArrayList<>();
+                batches.put(executor, batch);
+            }
+            batch.add(conn);
+        }
+        for (Map.Entry<Executor, List<WebSocketConnection>> entry : batches.entrySet()) {
+            final List<WebSocketConnection> batch = entry.getValue();
+            entry.getKey().execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (WebSocketConnection conn : batch) {
+                        try {
+                            send(conn, payload, binary);
+                        } catch (Exception e) {
+                            logger.warn(e, "error sending websocket message");
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private static void send(WebSocketConnection conn, ByteBuffer payload, boolean binary) {
+        if (binary) {
+            conn.sendBinary(payload);
+        } else {
+            conn.sendText(payload);
+        }
+    }
+
+    // encode message into a read only buffer that can be shared by
+    // connections, each connection sends a duplicate of the buffer
+    private static ByteBuffer encode(String message) {
+        return ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+    }
+
+    private void sendToConnections(String message, WebSocketConnectionRegistry registry, String key) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("send to websocket connections by key: %s", key);
         }
+        broadcast(message, registry.get(key));
     }
 }
@@ -28,6 +28,7 @@ import org.osgl.util.C;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -38,6 +39,15 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
 
     private ConcurrentMap<String, ConcurrentMap<WebSocketConnection, WebSocketConnection>> registry = new ConcurrentHashMap<>();
 
+    // reverse index: connection to the keys it is attached to, so
+    // that signing off a connection does not need to scan all keys.
+    // The key set is also the lock of the connection: the index and
+    // the connection bags are updated while holding it
+    private ConcurrentMap<WebSocketConnection, Set<String>> keysByConnection = new ConcurrentHashMap<>();
+
+    // total number of connection associations
+    private AtomicInteger size = new AtomicInteger();
+
     private ReentrantLock lock = new ReentrantLock();
 
     /**
@@ -60,7 +70,13 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
      *         the key to be removed from the registry
      */
     public void removeAll(String key) {
-        registry.remove(key);
+        ConcurrentMap<WebSocketConnection, WebSocketConnection> connections = registry.remove(key);
+        if (null == connections) {
+            return;
+        }
+        for (WebSocketConnection conn : connections.keySet()) {
+            detached(key, conn);
+        }
     }
 
     /**
@@ -91,8 +107,9 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
                     visitor.apply(conn);
                 }
                 if (null != toBeCleared) {
-                    ConcurrentMap<WebSocketConnection, WebSocketConnection> originalCopy = registry.get(key);
-                    originalCopy.keySet().removeAll(toBeCleared);
+                    for (WebSocketConnection conn : toBeCleared) {
+                        detach(key, connections, conn);
+                    }
                 }
             } finally {
                 lock.unlock();
@@ -130,7 +147,7 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
      */
     public void signIn(String key, WebSocketConnection connection) {
         ConcurrentMap<WebSocketConnection, WebSocketConnection> bag = ensureConnectionList(key);
-        bag.put(connection, connection);
+        attach(key, bag, connection);
     }
 
     /**
@@ -157,12 +174,10 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
         if (connections.isEmpty()) {
             return;
         }
-        Map<WebSocketConnection, WebSocketConnection> newMap = new HashMap<>();
+        ConcurrentMap<WebSocketConnection, WebSocketConnection> bag = ensureConnectionList(key);
         for (WebSocketConnection conn : connections) {
-            newMap.put(conn, conn);
+            attach(key, bag, conn);
         }
-        ConcurrentMap<WebSocketConnection, WebSocketConnection> bag = ensureConnectionList(key);
-        bag.putAll(newMap);
     }
 
     /**
@@ -205,7 +220,7 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
         if (null == connections) {
             return;
         }
-        connections.remove(connection);
+        detach(key, connections, connection);
     }
 
     /**
@@ -227,8 +242,18 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
      *         the connection
      */
     public void signOff(WebSocketConnection connection) {
-        for (ConcurrentMap<WebSocketConnection, WebSocketConnection> connections : registry.values()) {
-            connections.remove(connection);
+        Set<String> keys = keysByConnection.get(connection);
+        if (null == keys) {
+            return;
+        }
+        synchronized (keys) {
+            keysByConnection.remove(connection, keys);
+            for (String key : keys) {
+                ConcurrentMap<WebSocketConnection, WebSocketConnection> connections = registry.get(key);
+                if (null != connections && null != connections.remove(connection)) {
+                    size.decrementAndGet();
+                }
+            }
         }
     }
 
@@ -244,8 +269,13 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
         if (connections.isEmpty()) {
             return;
         }
-        ConcurrentMap<WebSocketConnection, WebSocketConnection> bag = ensureConnectionList(key);
-        bag.keySet().removeAll(connections);
+        ConcurrentMap<WebSocketConnection, WebSocketConnection> bag = registry.get(key);
+        if (null == bag) {
+            return;
+        }
+        for (WebSocketConnection conn : connections) {
+            detach(key, bag, conn);
+        }
     }
 
 
@@ -257,11 +287,7 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
      * @return the connection count
      */
     public int count() {
-        int n = 0;
-        for (ConcurrentMap<?, ?> bag : registry.values()) {
-            n += bag.size();
-        }
-        return n;
+        return size.get();
     }
 
     /**
@@ -286,21 +312,73 @@ public class WebSocketConnectionRegistry extends LogSupportedDestroyableBase {
             }
         }
         registry.clear();
+        keysByConnection.clear();
+        size.set(0);
     }
 
     void purge(List<WebSocketConnection> closedConnections) {
         lock.lock();
         try {
             for (WebSocketConnection connection : closedConnections) {
-                for (ConcurrentMap<WebSocketConnection, WebSocketConnection> map: registry.values()) {
-                    map.remove(connection);
-                }
+                signOff(connection);
             }
         } finally {
             lock.unlock();
         }
     }
 
+    private void attach(String key, ConcurrentMap<WebSocketConnection, WebSocketConnection> bag, WebSocketConnection connection) {
+        while (true) {
+            Set<String> keys = keysByConnection.get(connection);
+            if (null == keys) {
+                Set<String> newKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                keys = keysByConnection.putIfAbsent(connection, newKeys);
+                if (null == keys) {
+                    keys = newKeys;
+                }
+            }
+            synchronized (keys) {
+                if (keys != keysByConnection.get(connection)) {
+                    // signed off by another thread, try again with a new key set
+                    continue;
+                }
+                if (null == bag.put(connection, connection)) {
+                    size.incrementAndGet();
+                }
+                keys.add(key);
+                return;
+            }
+        }
+    }
+
+    private void detach(String key, ConcurrentMap<WebSocketConnection, WebSocketConnection> bag, WebSocketConnection connection) {
+        Set<String> keys = keysByConnection.get(connection);
+        if (null == keys) {
+            if (null != bag.remove(connection)) {
+                size.decrementAndGet();
+            }
+            return;
+        }
+        synchronized (keys) {
+            if (null != bag.remove(connection)) {
+                size.decrementAndGet();
+                keys.remove(key);
+            }
+        }
+    }
+
+    private void detached(String key, WebSocketConnection connection) {
+        size.decrementAndGet();
+        // keep the key set even if it is empty, it is
+        // removed when the connection signed off
+        Set<String> keys = keysByConnection.get(connection);
+        if (null != keys) {
+            synchronized (keys) {
+                keys.remove(key);
+            }
+        }
+    }
+
     private ConcurrentMap<WebSocketConnection, WebSocketConnection> ensureConnectionList(String key) {
         ConcurrentMap<WebSocketConnection, WebSocketConnection> connections = registry.get(key);
         if (null == connections) {
@@ -31,7 +31,9 @@ import org.osgl.http.H;
 import org.osgl.util.E;
 import org.osgl.util.S;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 public class WebSocketContext extends ActContext.Base<WebSocketContext> implements WebSocketConnection {
 
@@ -40,6 +42,7 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
     private ActionContext actionContext;
     private String url;
     private String stringMessage;
+    private ByteBuffer binaryMessage;
     private boolean isJson;
     private Map<String, List<String>> queryParams;
 
@@ -96,12 +99,29 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
      * @return this context
      */
     public WebSocketContext messageReceived(String receivedMessage) {
+        this.binaryMessage = null;
         this.stringMessage = S.string(receivedMessage).trim();
         isJson = stringMessage.startsWith("{") || stringMessage.startsWith("]");
         tryParseQueryParams();
         return this;
     }
 
+    /**
+     * Called when remote end send a binary message to this connection.
+     *
+     * The buffer is only valid until the handler returns.
+     *
+     * @param receivedMessage the binary message received
+     * @return this context
+     */
+    public WebSocketContext binaryMessageReceived(ByteBuffer receivedMessage) {
+        this.binaryMessage = $.requireNotNull(receivedMessage);
+        this.stringMessage = "";
+        this.isJson = false;
+        this.queryParams = new HashMap<>();
+        return this;
+    }
+
     /**
      * Tag the websocket connection hold by this context with label specified
      * @param label the label used to tag the websocket connection
@@ -144,6 +164,19 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
         return isJson;
     }
 
+    /**
+     * Returns the payload of the binary message received or `null` if
+     * the message received is a text message
+     * @return the binary message payload
+     */
+    public ByteBuffer binaryMessage() {
+        return binaryMessage;
+    }
+
+    public boolean isBinary() {
+        return null != binaryMessage;
+    }
+
     /**
      * Send a message to the connection of this context
      * @param message the message to be sent
@@ -154,6 +187,16 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
         return this;
     }
 
+    /**
+     * Send a binary message to the connection of this context
+     * @param message the message to be sent
+     * @return this context
+     */
+    public WebSocketContext sendBinaryToSelf(ByteBuffer message) {
+        sendBinary(message);
+        return this;
+    }
+
     /**
      * Send JSON representation of a data object to the connection of this context
      * @param data the data to be sent
@@ -281,12 +324,42 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
         return sendToTagged(JSON.toJSONString(data), username);
     }
 
+    /**
+     * Send binary message to all connections connected to the same URL of this context
+     * with the connection of this context excluded
+     *
+     * @param message the binary message to be sent
+     * @return this context
+     */
+    public WebSocketContext sendBinaryToPeers(ByteBuffer message) {
+        return sendBinaryToConnections(message, url, manager.urlRegistry());
+    }
+
+    /**
+     * Send binary message to all connections labeled with tag specified
+     * with self connection excluded
+     *
+     * @param message the binary message to be sent
+     * @param tag the string that tag the connections to be sent
+     * @return this context
+     */
+    public WebSocketContext sendBinaryToTagged(ByteBuffer message, String tag) {
+        return sendBinaryToConnections(message, tag, manager.tagRegistry());
+    }
+
+    private WebSocketContext sendBinaryToConnections(ByteBuffer message, String key, WebSocketConnectionRegistry registry) {
+        List<WebSocketConnection> connections = registry.get(key);
+        connections.remove(connection);
+        manager.broadcastBinary(message, connections);
+        return this;
+    }
+
     private WebSocketContext sendToConnections(String message, String key, WebSocketConnectionRegistry registry, boolean excludeSelf) {
-        for (WebSocketConnection conn : registry.get(key)) {
-            if (!excludeSelf || connection != conn) {
-                conn.send(message);
-            }
+        List<WebSocketConnection> connections = registry.get(key);
+        if (excludeSelf) {
+            connections.remove(connection);
         }
+        manager.broadcast(message, connections);
         return this;
     }
 
@@ -295,6 +368,21 @@ public class WebSocketContext extends ActContext.Base<WebSocketContext> implemen
         connection.send(message);
     }
 
+    @Override
+    public void sendText(ByteBuffer message) {
+        connection.sendText(message);
+    }
+
+    @Override
+    public void sendBinary(ByteBuffer message) {
+        connection.sendBinary(message);
+    }
+
+    @Override
+    public Executor ioExecutor() {
+        return connection.ioExecutor();
+    }
+
     @Override
     public void close() {
         connection.close();
@@ -62,6 +62,7 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
     final private App app;
     private NamedPort port;
     private Metric metric;
+    private MetricHandle routingMetric;
     private $.Func2<H.Request, String, String> contentSuffixProcessor;
     private $.Func2<H.Request, String, String> urlContextProcessor;
     private ScheduledExecutorService hotReloadExecutor;
@@ -71,6 +72,7 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
         E.NPE(app);
         this.app = app;
         this.metric = Act.metricPlugin().metric(MetricInfo.HTTP_HANDLER);
+        this.routingMetric = metric.handle(MetricInfo.ROUTING);
         this.initUrlProcessors();
         app.registerHotReloadListener(new App.HotReloadListener() {
             @Override
@@ -160,7 +162,7 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
         // otherwise it might cause
         // https://github.com/actframework/actframework/issues
         ctx.saveLocal();
-        Timer timer = metric.startTimer(MetricInfo.ROUTING);
+        Timer timer = routingMetric.startTimer();
         final RequestHandler requestHandler = router().getInvoker(method, url, ctx);
         ctx.handler(requestHandler);
         timer.stop();
@@ -175,10 +177,9 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
             public void run() {
                 Timer timer;
                 if (metric != Metric.NULL_METRIC) {
-                    String key = S.concat(MetricInfo.HTTP_HANDLER, ":", requestHandler.toString());
-                    timer = metric.startTimer(key);
+                    timer = requestHandler.metricHandle(metric).startTimer();
                 } else {
-                    timer = Metric.NULL_METRIC.startTimer("null");
+                    timer = MetricHandle.NULL_HANDLE.startTimer();
                 }
                 ctx.handleTimer = timer;
                 EventBus eventBus = app.eventBus();
@@ -190,7 +191,7 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
                 Thread.currentThread().setContextClassLoader(app.classLoader());
                 final boolean skipEvents = ctx.skipEvents();
                 try {
-                    if (!skipEvents) {
+                    if (!skipEvents && eventBus.hasListener(PreHandle.class)) {
                         eventBus.emit(new PreHandle(ctx));
                     }
                     requestHandler.handle(ctx);
@@ -230,7 +231,7 @@ public class NetworkHandler extends LogSupportedDestroyableBase {
                         Act.shutdown(app);
                     }
                 } finally {
-                    if (!skipEvents) {
+                    if (!skipEvents && eventBus.hasListener(PostHandle.class)) {
                         eventBus.emit(new PostHandle(ctx));
                     }
                     if (ctx.isReadyForDestroy()) {
@@ -23,11 +23,25 @@ package act.xio;
 import act.Destroyable;
 import act.conf.AppConfig;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+
 /**
  * A WebSocket connection
  */
 public interface WebSocketConnection extends Destroyable {
 
+    /**
+     * An executor runs task in the calling thread
+     */
+    Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
     /**
      * Session ID of this connection
      * @return connection session id
@@ -49,6 +63,54 @@ public interface WebSocketConnection extends Destroyable {
      */
     void send(String message);
 
+    /**
+     * Send a text message that has already been encoded with UTF-8.
+     *
+     * The buffer might be shared by many connections, thus implementation
+     * shall not change the position or limit of the buffer passed in.
+     *
+     * The default implementation decodes the message and calls
+     * {@link #send(String)}.
+     *
+     * @param message the UTF-8 encoded text message
+     */
+    default void sendText(ByteBuffer message) {
+        send(StandardCharsets.UTF_8.decode(message.duplicate()).toString());
+    }
+
+    /**
+     * Send a binary message through websocket.
+     *
+     * Like {@link #sendText(ByteBuffer)}, implementation shall not change
+     * the position or limit of the buffer passed in.
+     *
+     * The default implementation copies the message and sends it as
+     * text with {@link #send(String)} as connections not supporting binary
+     * messages have no other way to send it.
+     *
+     * @param message the binary message
+     */
+    default void sendBinary(ByteBuffer message) {
+        ByteBuffer copy = message.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        send(new String(bytes, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Returns the executor runs on the IO thread of this connection.
+     *
+     * Sending a batch of messages from within the IO executor saves
+     * waking up the IO thread for each message.
+     *
+     * The default implementation returns {@link #CALLER_RUNS}.
+     *
+     * @return the IO executor or `null` if not available
+     */
+    default Executor ioExecutor() {
+        return CALLER_RUNS;
+    }
+
     /**
      * Close the connection. Note if there are any `IOException`
      * raised by the underline network layer, it will be ignored
@@ -28,7 +28,12 @@ import act.controller.meta.*;
 import act.event.SysEventListenerBase;
 import act.handler.RequestHandlerBase;
 import act.inject.param.*;
+import act.job.JobManager;
+import act.metric.MetricHandle;
+import act.metric.MetricInfo;
+import act.metric.Timer;
 import act.sys.Env;
+import act.util.SerialExecutor;
 import act.view.ActBadRequest;
 import act.ws.*;
 import com.alibaba.fastjson.JSON;
@@ -41,7 +46,9 @@ import org.osgl.mvc.result.BadRequest;
 import org.osgl.util.*;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
 
@@ -68,6 +75,9 @@ public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
     private boolean isSingleParam;
     private WebSocketConnectionListener connectionListener;
     private WebSocketConnectionListener.Manager connectionListenerManager;
+    private Executor workerExecutor;
+    private volatile MetricHandle metricHandle;
+    private volatile MetricHandle queueMetricHandle;
 
     // used to compose connection only websocket handler
     protected WebSocketConnectionHandler(WebSocketConnectionManager manager) {
@@ -107,6 +117,16 @@ public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
             return;
         }
 
+        if (app.config().wsWorkerDispatch()) {
+            final JobManager jobManager = app.jobManager();
+            workerExecutor = new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    jobManager.async(command);
+                }
+            };
+        }
+
         this.isStatic = methodInfo.isStatic();
         if (!this.isStatic) {
             //constructorAccess = ConstructorAccess.get(controllerClass);
@@ -154,6 +174,7 @@ public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
         host = null;
         $.resetArray(paramTypes);
         paramTypes = null;
+        workerExecutor = null;
         super.releaseResources();
     }
 
@@ -217,6 +238,65 @@ public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
     public void prepareAuthentication(ActionContext context) {
     }
 
+    /**
+     * Create the executor that runs the handler for messages received on
+     * a connection.
+     *
+     * If `ws.worker_dispatch.enabled` is set then it returns a
+     * {@link SerialExecutor} backed by the job worker threads so that
+     * messages of the same connection are handled in order while messages of
+     * different connections are handled in parallel. Otherwise it returns
+     * `null`, meaning messages shall be handled on the IO thread.
+     *
+     * @return the message executor or `null`
+     */
+    protected Executor createMessageExecutor() {
+        return null == workerExecutor ? null : new SerialExecutor(workerExecutor);
+    }
+
+    /**
+     * Called by implementation class when a message is received on a connection.
+     *
+     * @param executor the executor created by {@link #createMessageExecutor()}
+     * @param context the websocket context
+     * @param text the text message or `null` if it is a binary message
+     * @param binary the binary message or `null` if it is a text message. It
+     *               shall not be reused by the caller when executor is specified
+     */
+    protected final void dispatch(Executor executor, final WebSocketContext context, final String text, final ByteBuffer binary) {
+        if (null == executor) {
+            receive(context, text, binary);
+            return;
+        }
+        final Timer queueTimer = queueMetricHandle().startTimer();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                queueTimer.stop();
+                try {
+                    receive(context, text, binary);
+                } catch (Exception e) {
+                    logger.warn(e, "error handling websocket message on %s", context.url());
+                }
+            }
+        });
+    }
+
+    private void receive(WebSocketContext context, String text, ByteBuffer binary) {
+        WebSocketContext.current(context);
+        try {
+            if (null != binary) {
+                context.binaryMessageReceived(binary);
+            } else {
+                context.messageReceived(text);
+            }
+            invoke(context);
+        } finally {
+            // the thread is pooled, do not leak the context to the next job
+            WebSocketContext.current(null);
+        }
+    }
+
     protected void invoke(WebSocketContext context) {
         if (disabled) {
             return;
@@ -224,21 +304,52 @@ public abstract class WebSocketConnectionHandler extends RequestHandlerBase {
         ensureJsonDtoGenerated(context);
         Object[] params = params(context);
         Object retVal;
-        if (this.isStatic) {
-            retVal = $.invokeStatic(method, params);
-        } else {
-            retVal = methodAccess.invoke(host, methodIndex, params);
+        Timer timer = metricHandle().startTimer();
+        try {
+            if (this.isStatic) {
+                retVal = $.invokeStatic(method, params);
+            } else {
+                retVal = methodAccess.invoke(host, methodIndex, params);
+            }
+        } finally {
+            timer.stop();
         }
         if (null == retVal) {
             return;
         }
         if (retVal instanceof String) {
             context.sendToSelf((String) retVal);
+        } else if (retVal instanceof byte[]) {
+            context.sendBinaryToSelf(ByteBuffer.wrap((byte[]) retVal));
+        } else if (retVal instanceof ByteBuffer) {
+            context.sendBinaryToSelf((ByteBuffer) retVal);
         } else {
             context.sendJsonToSelf(retVal);
         }
     }
 
+    private MetricHandle metricHandle() {
+        MetricHandle handle = metricHandle;
+        if (null == handle) {
+            handle = Act.metricPlugin().metric(MetricInfo.WS_HANDLER).handle(endpointName());
+            metricHandle = handle;
+        }
+        return handle;
+    }
+
+    private MetricHandle queueMetricHandle() {
+        MetricHandle handle = queueMetricHandle;
+        if (null == handle) {
+            handle = Act.metricPlugin().metric(MetricInfo.WS_QUEUE).handle(endpointName());
+            queueMetricHandle = handle;
+        }
+        return handle;
+    }
+
+    private String endpointName() {
+        return S.concat(controller.className(), ".", handler.name());
+    }
+
     private Object[] params(WebSocketContext context) {
         if (0 == paramCount) {
             return DUMP_PARAMS;
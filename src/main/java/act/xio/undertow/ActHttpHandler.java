@@ -32,6 +32,7 @@ import org.osgl.http.H;
 import org.osgl.util.E;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 /**
  * Dispatch undertow request to Act application
@@ -39,12 +40,19 @@ import java.nio.ByteBuffer;
 public class ActHttpHandler implements HttpHandler {
 
     private final NetworkHandler client;
+    // `null` means dispatch to the XNIO worker pool
+    private final Executor executor;
 
     private static final ByteBuffer SERVICE_UNAVAILABLE = ByteBuffer.wrap("503 Service Unavailable".getBytes());
 
     public ActHttpHandler(NetworkHandler client) {
+        this(client, null);
+    }
+
+    public ActHttpHandler(NetworkHandler client, Executor executor) {
         E.NPE(client);
         this.client = client;
+        this.executor = executor;
     }
 
     @Override
@@ -55,7 +63,7 @@ public class ActHttpHandler implements HttpHandler {
             return;
         }
         ActionContext ctx = createActionContext(exchange);
-        client.handle(ctx, new UndertowNetworkDispatcher(exchange));
+        client.handle(ctx, new UndertowNetworkDispatcher(exchange, executor));
     }
 
     private ActionContext createActionContext(HttpServerExchange exchange) {
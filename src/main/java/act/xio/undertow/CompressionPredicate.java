@@ -0,0 +1,73 @@
+package act.xio.undertow;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.conf.AppConfig;
+import act.util.EncodedETag;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+
+/**
+ * Decide whether a response shall be compressed based on
+ * its content type and content length.
+ *
+ * Response with unknown length, e.g. a streamed JSON array,
+ * is always subject to compression, while response that supports
+ * byte ranges is never compressed on the fly.
+ *
+ * The predicate is evaluated right before the response is compressed,
+ * thus it also tags the response as the gzip encoded representation,
+ * see {@link EncodedETag}.
+ */
+class CompressionPredicate implements Predicate {
+
+    private final AppConfig config;
+    private final long minSize;
+
+    CompressionPredicate(AppConfig config) {
+        this.config = config;
+        this.minSize = config.httpCompressionMinSize();
+    }
+
+    @Override
+    public boolean resolve(HttpServerExchange exchange) {
+        HeaderMap headers = exchange.getResponseHeaders();
+        // byte ranges refer to the identity encoded content
+        if (headers.contains(Headers.ACCEPT_RANGES) || 206 == exchange.getStatusCode()) {
+            return false;
+        }
+        if (!config.isCompressible(headers.getFirst(Headers.CONTENT_TYPE))) {
+            return false;
+        }
+        String len = headers.getFirst(Headers.CONTENT_LENGTH);
+        if (null != len && Long.parseLong(len) < minSize) {
+            return false;
+        }
+        headers.add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        String etag = headers.getFirst(Headers.ETAG);
+        if (null != etag) {
+            headers.put(Headers.ETAG, EncodedETag.encode(etag, "gzip"));
+        }
+        return true;
+    }
+}
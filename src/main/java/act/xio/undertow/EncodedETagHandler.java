@@ -0,0 +1,62 @@
+package act.xio.undertow;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.EncodedETag;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+
+/**
+ * Strip off the content encoding from the entity tags of conditional
+ * request headers, so that they are evaluated against the entity tag
+ * of the identity representation.
+ *
+ * See {@link EncodedETag}
+ */
+class EncodedETagHandler implements HttpHandler {
+
+    private final HttpHandler next;
+
+    EncodedETagHandler(HttpHandler next) {
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        HeaderMap headers = exchange.getRequestHeaders();
+        decode(headers, Headers.IF_NONE_MATCH);
+        decode(headers, Headers.IF_MATCH);
+        next.handleRequest(exchange);
+    }
+
+    private static void decode(HeaderMap headers, HttpString name) {
+        String value = headers.getFirst(name);
+        if (null != value) {
+            String decoded = EncodedETag.decode(value);
+            if (!value.equals(decoded)) {
+                headers.put(name, decoded);
+            }
+        }
+    }
+}
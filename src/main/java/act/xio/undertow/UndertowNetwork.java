@@ -21,6 +21,7 @@ package act.xio.undertow;
  */
 
 import act.Act;
+import act.conf.AppConfig;
 import act.controller.meta.ActionMethodMetaInfo;
 import act.ws.WebSocketConnectionManager;
 import act.xio.Network;
@@ -32,6 +33,9 @@ import io.undertow.connector.ByteBufferPool;
 import io.undertow.protocols.ssl.UndertowXnioSsl;
 import io.undertow.server.DefaultByteBufferPool;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.server.handlers.encoding.GzipEncodingProvider;
 import io.undertow.server.protocol.http.HttpOpenListener;
 import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
@@ -50,6 +54,7 @@ import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.net.ssl.*;
 
 /**
@@ -61,7 +66,10 @@ public class UndertowNetwork extends NetworkBase {
 
     private Xnio xnio;
     private int ioThreads;
+    private int workerThreads;
     private XnioWorker worker;
+    // executes blocking request handlers when execution mode is not platform
+    private ExecutorService dispatchExecutor;
     private OptionMap socketOptions;
     private OptionMap serverOptions;
     private List<AcceptingChannel<? extends StreamConnection>> channels;
@@ -72,6 +80,7 @@ public class UndertowNetwork extends NetworkBase {
             xnio = Xnio.getInstance(UndertowNetwork.class.getClassLoader());
             // abcdefgdgd1234566789(dddd)
             worker = createWorker();
+            dispatchExecutor = Act.conf().executionMode().createExecutor("http", workerThreads);
             socketOptions = createSocketOptions();
             serverOptions = OptionMap.builder()
                     .set(UndertowOptions.BUFFER_PIPELINED_DATA, true)
@@ -89,7 +98,15 @@ public class UndertowNetwork extends NetworkBase {
 
     @Override
     protected void setUpClient(NetworkHandler client, int port, boolean secure) throws IOException {
-        HttpHandler handler = new ActHttpHandler(client);
+        HttpHandler handler = new ActHttpHandler(client, dispatchExecutor);
+        AppConfig config = client.app().config();
+        if (config.httpCompressionEnabled()) {
+            ContentEncodingRepository encodings = new ContentEncodingRepository()
+                    .addEncodingHandler("gzip", new GzipEncodingProvider(config.httpCompressionLevel()), 50, new CompressionPredicate(config));
+            handler = new EncodingHandler(handler, encodings);
+        }
+        // precompressed static resources are tagged with their encoding as well
+        handler = new EncodedETagHandler(handler);
         ByteBufferPool buffers = new DefaultByteBufferPool(true, 16 * 1024, -1, 4);
         HttpOpenListener openListener = new HttpOpenListener(buffers, serverOptions);
         openListener.setRootHandler(handler);
@@ -129,11 +146,14 @@ public class UndertowNetwork extends NetworkBase {
         }
         channels.clear();
         worker.shutdownNow();
+        if (null != dispatchExecutor) {
+            dispatchExecutor.shutdownNow();
+        }
     }
 
     private XnioWorker createWorker() throws IOException {
         ioThreads = Act.isDev() ? 2 : Runtime.getRuntime().availableProcessors() * 2;
-        int workerThreads = Act.isDev() ? 4 : ioThreads * 8;
+        workerThreads = Act.isDev() ? 4 : ioThreads * 8;
         int maxWorkerThreads = Act.conf().xioMaxWorkerThreads();
         if (maxWorkerThreads > 0) {
             workerThreads = Math.min(maxWorkerThreads, workerThreads);
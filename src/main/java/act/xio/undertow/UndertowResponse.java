@@ -37,6 +37,8 @@ import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
 import org.osgl.storage.ISObject;
 import org.osgl.util.*;
+import org.xnio.channels.Channels;
+import org.xnio.channels.StreamSinkChannel;
 
 import java.io.*;
 import java.net.URL;
@@ -63,6 +65,41 @@ public class UndertowResponse extends ActResponse<UndertowResponse> {
         hse.getResponseHeaders().put(_SERVER, config.serverHeader());
     }
 
+    /**
+     * Send file regions through {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+     * so that range requests are served without copying the file content into user space.
+     */
+    @Override
+    public UndertowResponse send(File file, long[] offsets, long[] lengths, byte[][] headers, byte[] trailer) {
+        if (isIoThread()) {
+            // blocking transfer is not allowed on IO thread
+            return super.send(file, offsets, lengths, headers, trailer);
+        }
+        beforeWritingContent();
+        endAsync = false;
+        hse.setResponseContentLength(regionsLength(lengths, headers, trailer));
+        StreamSinkChannel sink = hse.getResponseChannel();
+        E.illegalStateIf(null == sink, "response channel already taken");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (int i = 0; i < offsets.length; ++i) {
+                if (null != headers) {
+                    Channels.writeBlocking(sink, ByteBuffer.wrap(headers[i]));
+                }
+                Channels.transferBlocking(sink, channel, offsets[i], lengths[i]);
+            }
+            if (null != trailer) {
+                Channels.writeBlocking(sink, ByteBuffer.wrap(trailer));
+            }
+            sink.shutdownWrites();
+            Channels.flushBlocking(sink);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            afterWritingContent();
+        }
+        return this;
+    }
+
     @Override
     protected Output createOutput() {
         return isIoThread() ? new NonBlockOutput(sender()) : new OutputStreamOutput(createOutputStream());
@@ -21,25 +21,54 @@ package act.xio.undertow;
  */
 
 import act.Act;
+import act.conf.AppConfig;
 import act.util.DestroyableBase;
 import act.xio.WebSocketConnection;
+import io.undertow.websockets.core.WebSocketCallback;
 import io.undertow.websockets.core.WebSocketChannel;
 import io.undertow.websockets.core.WebSockets;
 import org.osgl.$;
 import org.osgl.http.H;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.xnio.XnioIoThread;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UndertowWebSocketConnection extends DestroyableBase implements WebSocketConnection {
 
+    private static final Logger LOGGER = LogManager.get(UndertowWebSocketConnection.class);
+
     private final WebSocketChannel channel;
     private final String sessionId;
     private final String username;
+    private final int sendQueueLimit;
+    private final boolean closeOnOverflow;
+    // number of messages handed over to undertow but not written out yet
+    private final AtomicInteger pending = new AtomicInteger();
+    private final WebSocketCallback<Void> sendCallback = new WebSocketCallback<Void>() {
+        @Override
+        public void complete(WebSocketChannel channel, Void context) {
+            pending.decrementAndGet();
+        }
+
+        @Override
+        public void onError(WebSocketChannel channel, Void context, Throwable throwable) {
+            pending.decrementAndGet();
+        }
+    };
 
     public UndertowWebSocketConnection(WebSocketChannel channel, H.Session session) {
+        AppConfig config = Act.appConfig();
         this.channel = $.requireNotNull(channel);
         this.sessionId = session.id();
-        this.username = session.get(Act.appConfig().sessionKeyUsername());
+        this.username = session.get(config.sessionKeyUsername());
+        this.sendQueueLimit = config.wsSendQueueLimit();
+        this.closeOnOverflow = config.wsSendQueueOverflowClose();
     }
 
     @Override
@@ -54,7 +83,68 @@ public class UndertowWebSocketConnection extends DestroyableBase implements WebS
 
     @Override
     public void send(String message) {
-        WebSockets.sendText(message, channel, null);
+        sendText(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void sendText(ByteBuffer message) {
+        send(message, false);
+    }
+
+    @Override
+    public void sendBinary(ByteBuffer message) {
+        send(message, true);
+    }
+
+    // all messages are written out from the IO thread of the channel, so that
+    // messages sent directly and messages sent in a batch from the IO executor
+    // keep the order they are sent
+    private void send(ByteBuffer message, final boolean binary) {
+        if (!reserve()) {
+            return;
+        }
+        final ByteBuffer payload = message.duplicate();
+        XnioIoThread ioThread = channel.getIoThread();
+        if (Thread.currentThread() == ioThread) {
+            write(payload, binary);
+        } else {
+            ioThread.execute(new Runnable() {
+                @Override
+                public void run() {
+                    write(payload, binary);
+                }
+            });
+        }
+    }
+
+    private void write(ByteBuffer payload, boolean binary) {
+        if (binary) {
+            WebSockets.sendBinary(payload, channel, sendCallback);
+        } else {
+            WebSockets.sendText(payload, channel, sendCallback);
+        }
+    }
+
+    @Override
+    public Executor ioExecutor() {
+        return channel.getIoThread();
+    }
+
+    // increment first, so concurrent senders never push the number of
+    // pending messages over the limit
+    private boolean reserve() {
+        int n = pending.incrementAndGet();
+        if (sendQueueLimit > 0 && n > sendQueueLimit) {
+            pending.decrementAndGet();
+            if (closeOnOverflow) {
+                LOGGER.warn("close slow websocket connection: send queue full");
+                close();
+            } else if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("drop websocket message: send queue full");
+            }
+            return false;
+        }
+        return true;
     }
 
     @Override
@@ -21,6 +21,7 @@ package act.xio.undertow;
  */
 
 import act.app.ActionContext;
+import act.conf.AppConfig;
 import act.controller.meta.ActionMethodMetaInfo;
 import act.view.ActErrorResult;
 import act.ws.*;
@@ -29,15 +30,28 @@ import act.xio.WebSocketConnectionHandler;
 import io.undertow.Handlers;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.websockets.WebSocketConnectionCallback;
+import io.undertow.websockets.WebSocketProtocolHandshakeHandler;
 import io.undertow.websockets.core.*;
+import io.undertow.websockets.extensions.PerMessageDeflateHandshake;
 import io.undertow.websockets.spi.WebSocketHttpExchange;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 class UndertowWebSocketConnectionHandler extends WebSocketConnectionHandler {
 
+    private final boolean compression;
+    private final int compressionLevel;
+    private final long maxMessageSize;
+
     UndertowWebSocketConnectionHandler(ActionMethodMetaInfo method, WebSocketConnectionManager manager) {
         super(method, manager);
+        AppConfig config = manager.app().config();
+        this.compression = config.wsCompression();
+        this.compressionLevel = config.wsCompressionLevel();
+        int maxSize = config.wsMessageMaxSize();
+        this.maxMessageSize = 0 == maxSize ? -1 : maxSize;
     }
 
     @Override
@@ -48,26 +62,53 @@ class UndertowWebSocketConnectionHandler extends WebSocketConnectionHandler {
         final UndertowRequest req = (UndertowRequest) context.req();
         HttpServerExchange exchange = req.exchange();
         try {
-            Handlers.websocket(new WebSocketConnectionCallback() {
+            WebSocketProtocolHandshakeHandler handshakeHandler = Handlers.websocket(new WebSocketConnectionCallback() {
                 @Override
                 public void onConnect(WebSocketHttpExchange exchange, WebSocketChannel channel) {
                     final WebSocketConnection connection = new UndertowWebSocketConnection(channel, context.session());
                     channel.setAttribute("act_conn", connection);
                     connectionManager.registerNewConnection(connection, context);
                     final WebSocketContext wsCtx = new WebSocketContext(req.url(), connection, connectionManager, context, connectionManager.app());
+                    final Executor executor = createMessageExecutor();
                     if (logger.isTraceEnabled()) {
                         logger.trace("websocket context[%s] created for %s", connection.sessionId(), context.req().url());
                     }
                     channel.getReceiveSetter().set(new AbstractReceiveListener() {
                         @Override
                         protected void onFullTextMessage(WebSocketChannel channel, BufferedTextMessage message) {
-                            WebSocketContext.current(wsCtx);
                             String payload = message.getData();
                             if (logger.isTraceEnabled()) {
                                 logger.trace("websocket message received: %s", payload);
                             }
-                            wsCtx.messageReceived(payload);
-                            invoke(wsCtx);
+                            dispatch(executor, wsCtx, payload, null);
+                        }
+
+                        // BufferedBinaryMessage of Undertow 2.1 exposes its PooledByteBuffers only
+                        // through the deprecated org.xnio.Pooled, which must be freed exactly once
+                        @Override
+                        @SuppressWarnings("deprecation")
+                        protected void onFullBinaryMessage(WebSocketChannel channel, BufferedBinaryMessage message) {
+                            org.xnio.Pooled<ByteBuffer[]> data = message.getData();
+                            try {
+                                // merged into a new buffer, thus safe to be handled after pooled data freed
+                                ByteBuffer payload = WebSockets.mergeBuffers(data.getResource());
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("websocket binary message received: %s bytes", payload.remaining());
+                                }
+                                dispatch(executor, wsCtx, null, payload);
+                            } finally {
+                                data.free();
+                            }
+                        }
+
+                        @Override
+                        protected long getMaxTextBufferSize() {
+                            return maxMessageSize;
+                        }
+
+                        @Override
+                        protected long getMaxBinaryBufferSize() {
+                            return maxMessageSize;
                         }
 
                         @Override
@@ -85,7 +126,11 @@ class UndertowWebSocketConnectionHandler extends WebSocketConnectionHandler {
                     UndertowWebSocketConnectionHandler.this._onConnect(wsCtx);
                 }
 
-            }).handleRequest(exchange);
+            });
+            if (compression) {
+                handshakeHandler.addExtension(new PerMessageDeflateHandshake(false, compressionLevel));
+            }
+            handshakeHandler.handleRequest(exchange);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,84 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import act.ActResponse;
+import act.ActTestBase;
+import act.route.Router;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Test;
+import org.osgl.http.H;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ActionContextJsonBodyTest extends ActTestBase {
+
+    private ActionContext ctx(String body) throws Exception {
+        setup();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        H.Request req = mock(H.Request.class);
+        when(req.method()).thenReturn(H.Method.POST);
+        when(req.contentType()).thenReturn(H.Format.JSON);
+        when(req.characterEncoding()).thenReturn("UTF-8");
+        when(req.contentLength()).thenReturn((long) bytes.length);
+        when(req.inputStream()).thenReturn(new ByteArrayInputStream(bytes));
+        ActionContext ctx = ActionContext.create(mockApp, req, mock(ActResponse.class));
+        ctx.router(mock(Router.class));
+        return ctx;
+    }
+
+    @Test
+    public void parseJsonBodyFromBytes() throws Exception {
+        ActionContext ctx = ctx("{\"name\": \"张三\"}");
+        ctx.jsonBodyPatch(null);
+        JSONObject json = ctx.parsePatchedJsonBody(JSONObject.class);
+        eq("张三", json.getString("name"));
+    }
+
+    @Test
+    public void parsePatchedJsonBody() throws Exception {
+        ActionContext ctx = ctx(" [1, 2] ");
+        ctx.jsonBodyPatch("list");
+        JSONObject json = ctx.patchedJsonTree();
+        eq(2, json.getJSONArray("list").size());
+        same(json, ctx.patchedJsonTree());
+        eq("{\"list\": [1, 2]}", ctx.patchedJsonBody());
+    }
+
+    @Test
+    public void bodyShallBeReadOnlyOnce() throws Exception {
+        ActionContext ctx = ctx("{\"a\": 1}");
+        same(ctx.bodyBytes(), ctx.bodyBytes());
+        eq("{\"a\": 1}", ctx.body());
+    }
+
+    @Test
+    public void paramLookupShallNotDecodeJsonBody() throws Exception {
+        ActionContext ctx = ctx("{\"a\": 1}");
+        eq(0, ctx.paramVals("a").length);
+        eq("{\"a\": 1}", ctx.body());
+    }
+
+}
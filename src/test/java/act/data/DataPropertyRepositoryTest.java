@@ -21,6 +21,7 @@ package act.data;
  */
 
 import act.ActTestBase;
+import act.util.PropertySpec;
 import org.junit.Before;
 import org.junit.Test;
 import org.osgl.util.S;
@@ -28,6 +29,8 @@ import testapp.model.Person;
 
 import java.util.List;
 
+import static org.mockito.Mockito.when;
+
 public class DataPropertyRepositoryTest extends ActTestBase {
     private DataPropertyRepository repo;
 
@@ -35,6 +38,7 @@ public class DataPropertyRepositoryTest extends ActTestBase {
     public void prepare() throws Exception {
         super.setup();
         repo = new DataPropertyRepository(mockApp);
+        when(mockApp.service(DataPropertyRepository.class)).thenReturn(repo);
     }
 
     @Test
@@ -50,6 +54,31 @@ public class DataPropertyRepositoryTest extends ActTestBase {
         yes(containsField(ls, "address.city"));
     }
 
+    @Test
+    public void outputFieldsOfDeclaredSpecShallBeReused() {
+        PropertySpec.MetaInfo spec = new PropertySpec.MetaInfo();
+        spec.onValue("firstName,age");
+        spec.markDeclared();
+        List<S.Pair> ls = repo.outputFields(spec, Person.class, null, null);
+        eq(2, ls.size());
+        yes(containsField(ls, "firstName"));
+        yes(containsField(ls, "age"));
+        same(ls, repo.outputFields(spec, Person.class, null, null));
+    }
+
+    @Test
+    public void outputFieldsOfAdhocSpecShallBeCachedByValue() {
+        PropertySpec.MetaInfo spec1 = new PropertySpec.MetaInfo();
+        spec1.onValue("-age");
+        PropertySpec.MetaInfo spec2 = new PropertySpec.MetaInfo();
+        spec2.onValue("-age");
+        isNull(spec1.identityKey(null));
+        List<S.Pair> ls = repo.outputFields(spec1, Person.class, null, null);
+        no(containsField(ls, "age"));
+        yes(containsField(ls, "firstName"));
+        same(ls, repo.outputFields(spec2, Person.class, null, null));
+    }
+
     private boolean containsLabel(List<S.Pair> pairs, String field) {
         for (S.Pair pair : pairs) {
             if (S.eq(pair._2, field)) {
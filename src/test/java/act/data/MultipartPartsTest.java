@@ -0,0 +1,125 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActResponse;
+import act.ActTestBase;
+import act.app.ActionContext;
+import act.route.Router;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.IO;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MultipartPartsTest extends ActTestBase {
+
+    private static final String BOUNDARY = "AaB03x";
+
+    private static final String BODY = "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"title\"\r\n" +
+            "\r\n" +
+            "hello\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n" +
+            "Content-Type: text/plain\r\n" +
+            "\r\n" +
+            "file content\r\n" +
+            "--" + BOUNDARY + "--\r\n";
+
+    private ActionContext ctx;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+        H.Request req = mock(H.Request.class);
+        when(req.method()).thenReturn(H.Method.POST);
+        when(req.contentType()).thenReturn(H.Format.FORM_MULTIPART_DATA);
+        when(req.header("content-type")).thenReturn("multipart/form-data; boundary=" + BOUNDARY);
+        when(req.characterEncoding()).thenReturn("UTF-8");
+        when(req.contentLength()).thenReturn((long) bytes.length);
+        when(req.inputStream()).thenReturn(new ByteArrayInputStream(bytes));
+        ctx = ActionContext.create(mockApp, req, mock(ActResponse.class));
+        ctx.router(mock(Router.class));
+    }
+
+    @Test
+    public void itShallIteratePartsInOrder() {
+        MultipartParts parts = ctx.multipartParts();
+        yes(parts.hasNext());
+        MultipartParts.Part part = parts.next();
+        eq("title", part.fieldName());
+        yes(part.isFormField());
+        isNull(part.filename());
+        eq("hello", IO.readContentAsString(part.inputStream()));
+        yes(parts.hasNext());
+        part = parts.next();
+        eq("file", part.fieldName());
+        no(part.isFormField());
+        eq("a.txt", part.filename());
+        eq("text/plain", part.contentType());
+        eq("file content", IO.readContentAsString(part.inputStream()));
+        no(parts.hasNext());
+    }
+
+    @Test
+    public void partContentShallBeReadableFromChannel() throws Exception {
+        MultipartParts parts = ctx.multipartParts();
+        parts.next();
+        ReadableByteChannel channel = parts.next().channel();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        while (channel.read(buffer) >= 0) {
+            // read until the end of the part
+        }
+        buffer.flip();
+        eq("file content", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void itShallThrowOutNoSuchElementAfterLastPart() {
+        MultipartParts parts = ctx.multipartParts();
+        parts.next();
+        parts.next();
+        parts.next();
+    }
+
+    @Test
+    public void bodyShallNotBeParsedAfterStreaming() {
+        ctx.multipartParts();
+        eq(0, ctx.paramVals("title").length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void itShallNotStreamBodyTwice() {
+        ctx.multipartParts();
+        ctx.multipartParts();
+    }
+
+}
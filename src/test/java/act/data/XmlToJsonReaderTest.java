@@ -0,0 +1,76 @@
+package act.data;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.OsglConfig;
+import org.osgl.util.S;
+import org.osgl.util.XML;
+import org.w3c.dom.Document;
+
+public class XmlToJsonReaderTest extends ActTestBase {
+
+    private XmlToJsonReader reader = new XmlToJsonReader();
+
+    @Test
+    public void itShallReadSameStructureAsDomConverter() {
+        verify("<xml><id>5</id><name>Tom</name><active>true</active><score>3.5</score></xml>");
+        verify("<xml>\n  <user>\n    <name>Tom</name>\n    <tag>a</tag>\n    <tag>b</tag>\n  </user>\n</xml>");
+        verify("<xml><big>123456789012345678901234567890</big><long>12345678901</long><empty></empty></xml>");
+        verify(S.fmt("<xml><list><%1$s>1</%1$s><%1$s>2</%1$s></list></xml>", OsglConfig.xmlListItemTag()));
+    }
+
+    @Test
+    public void itShallReadTextContentAsValue() {
+        JSONObject json = (JSONObject) read("<xml><name><![CDATA[a<b]]>c</name><note>x &amp; y</note></xml>");
+        eq("a<bc", json.get("name"));
+        eq("x & y", json.get("note"));
+    }
+
+    @Test
+    public void itShallReadListItems() {
+        Object o = new XmlToJsonReader("_item").read("<xml><_item>a</_item><_item>b</_item></xml>".getBytes(), "UTF-8");
+        yes(o instanceof JSONArray);
+        eq(2, ((JSONArray) o).size());
+    }
+
+    @Test
+    public void itShallIgnoreAttributesAndComments() {
+        JSONObject json = (JSONObject) read("<?xml version=\"1.0\"?><!-- c --><xml a=\"1\"><n b=\"2\">3</n></xml>");
+        eq(1, json.size());
+        eq(3, json.get("n"));
+    }
+
+    private void verify(String xml) {
+        Document doc = XML.read(xml);
+        JSONObject expected = $.convert(doc).to(JSONObject.class);
+        eq(expected, read(xml));
+    }
+
+    private Object read(String xml) {
+        return reader.read(xml.getBytes(), "UTF-8");
+    }
+
+}
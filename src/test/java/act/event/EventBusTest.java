@@ -21,10 +21,17 @@ package act.event;
  */
 
 import act.ActTestBase;
+import act.app.event.SysEventId;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.Mockito.*;
 
 public class EventBusTest extends ActTestBase {
@@ -73,6 +80,117 @@ public class EventBusTest extends ActTestBase {
         verify(l).on(Mockito.any(MyEmbeddedEvent.class));
     }
 
+    @Test
+    public void itShallReportListenerOfEventTypeAfterStart() throws Exception {
+        yes(eventBus.hasListener(MyEmbeddedEvent.class));
+        eventBus.emit(SysEventId.POST_START);
+        no(eventBus.hasListener(MyEmbeddedEvent.class));
+        ActEventListener<MyEmbeddedEvent> l = mock(ActEventListener.class);
+        eventBus.bind(MyEmbeddedEvent.class, l);
+        yes(eventBus.hasListener(MyEmbeddedEvent.class));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        verify(l).on(Mockito.any(MyEmbeddedEvent.class));
+    }
+
+    @Test
+    public void itShallReportOnceListenerOfEventType() throws Exception {
+        eventBus.emit(SysEventId.POST_START);
+        final List<MyEmbeddedEvent> events = new ArrayList<>();
+        eventBus.once(MyEmbeddedEvent.class, new OnceEventListenerBase<MyEmbeddedEvent>() {
+            @Override
+            public boolean tryHandle(MyEmbeddedEvent event) {
+                events.add(event);
+                return true;
+            }
+        });
+        yes(eventBus.hasListener(MyEmbeddedEvent.class));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eq(1, events.size());
+    }
+
+    @Test
+    public void bindingListenerWhileEmittingShallNotBreakEmitting() throws Exception {
+        final ActEventListener<MyEmbeddedEvent> l2 = mock(ActEventListener.class);
+        eventBus.bind(MyEmbeddedEvent.class, new ActEventListenerBase<MyEmbeddedEvent>("l1") {
+            @Override
+            public void on(MyEmbeddedEvent event) {
+                eventBus.bind(MyEmbeddedEvent.class, l2);
+            }
+        });
+        MyEmbeddedEvent e = new MyEmbeddedEvent(this);
+        eventBus.emit(e);
+        eventBus.emit(e);
+        verify(l2).on(e);
+    }
+
+    @Test
+    public void onceListenerShallBeRemovedAfterHandled() throws Exception {
+        final List<MyEmbeddedEvent> events = new ArrayList<>();
+        eventBus.once(MyEmbeddedEvent.class, new OnceEventListenerBase<MyEmbeddedEvent>() {
+            @Override
+            public boolean tryHandle(MyEmbeddedEvent event) {
+                events.add(event);
+                return events.size() > 1;
+            }
+        });
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eq(2, events.size());
+    }
+
+    @Test
+    public void onceListenerShallBeCalledOnlyOnceWhileHandling() throws Exception {
+        final List<MyEmbeddedEvent> events = new ArrayList<>();
+        eventBus.once(MyEmbeddedEvent.class, new OnceEventListenerBase<MyEmbeddedEvent>() {
+            @Override
+            public boolean tryHandle(MyEmbeddedEvent event) {
+                events.add(event);
+                // emitting while the listener is being called
+                eventBus.emit(new MyEmbeddedEvent(EventBusTest.this));
+                return true;
+            }
+        });
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eq(1, events.size());
+    }
+
+    @Test
+    public void eventDeclinedByOnceListenerShallNotHideConcurrentEvent() throws Exception {
+        final MyEmbeddedEvent declined = new MyEmbeddedEvent(this);
+        final MyEmbeddedEvent accepted = new MyEmbeddedEvent(this);
+        final CountDownLatch handlingDeclined = new CountDownLatch(1);
+        final CountDownLatch emittingAccepted = new CountDownLatch(1);
+        final List<MyEmbeddedEvent> events = new CopyOnWriteArrayList<>();
+        eventBus.once(MyEmbeddedEvent.class, new OnceEventListenerBase<MyEmbeddedEvent>() {
+            @Override
+            public boolean tryHandle(MyEmbeddedEvent event) throws Exception {
+                if (event == declined) {
+                    handlingDeclined.countDown();
+                    emittingAccepted.await(10, TimeUnit.SECONDS);
+                    // give the other thread the chance to reach the listener
+                    Thread.sleep(100);
+                    return false;
+                }
+                events.add(event);
+                return true;
+            }
+        });
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                eventBus.emit(declined);
+            }
+        };
+        thread.start();
+        yes(handlingDeclined.await(10, TimeUnit.SECONDS));
+        emittingAccepted.countDown();
+        eventBus.emit(accepted);
+        thread.join();
+        eq(1, events.size());
+        same(accepted, events.get(0));
+    }
 
     public static class MyEmbeddedEvent extends ActEvent<EventBusTest> {
         public MyEmbeddedEvent(EventBusTest source) {
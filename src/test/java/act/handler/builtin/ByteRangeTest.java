@@ -0,0 +1,76 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ByteRangeTest extends ActTestBase {
+
+    @Test
+    public void itShallParseSingleRange() {
+        eq(Arrays.asList(new ByteRange(0, 99)), ByteRange.parse("bytes=0-99", 1000));
+        eq(Arrays.asList(new ByteRange(500, 999)), ByteRange.parse("bytes=500-", 1000));
+        eq(Arrays.asList(new ByteRange(900, 999)), ByteRange.parse("bytes=-100", 1000));
+    }
+
+    @Test
+    public void itShallClampRangeToContentSize() {
+        eq(Arrays.asList(new ByteRange(900, 999)), ByteRange.parse("bytes=900-2000", 1000));
+        eq(Arrays.asList(new ByteRange(0, 999)), ByteRange.parse("bytes=-2000", 1000));
+    }
+
+    @Test
+    public void itShallParseMultipleRanges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=0-9, 20-29,-5", 100);
+        eq(Arrays.asList(new ByteRange(0, 9), new ByteRange(20, 29), new ByteRange(95, 99)), ranges);
+        eq(10L, ranges.get(0).length());
+        eq("bytes 20-29/100", ranges.get(1).contentRange(100));
+    }
+
+    @Test
+    public void unsatisfiableRangeShallBeDropped() {
+        yes(ByteRange.parse("bytes=1000-", 1000).isEmpty());
+        yes(ByteRange.parse("bytes=-0", 1000).isEmpty());
+        eq(Arrays.asList(new ByteRange(0, 9)), ByteRange.parse("bytes=0-9,2000-3000", 1000));
+    }
+
+    @Test
+    public void multipartBoundaryShallBeAlphanumeric() {
+        for (int i = 0; i < 100; ++i) {
+            String boundary = ByteRange.multipartBoundary();
+            yes(boundary.matches("[0-9A-Za-z]{1,70}"), boundary);
+        }
+        no(ByteRange.multipartBoundary().equals(ByteRange.multipartBoundary()));
+    }
+
+    @Test
+    public void invalidRangeShallBeIgnored() {
+        isNull(ByteRange.parse(null, 1000));
+        isNull(ByteRange.parse("items=0-9", 1000));
+        isNull(ByteRange.parse("bytes=9-0", 1000));
+        isNull(ByteRange.parse("bytes=abc", 1000));
+        isNull(ByteRange.parse("bytes=0-1,2-3,4-5,6-7,8-9,10-11,12-13,14-15,16-17,18-19,20-21,22-23,24-25,26-27,28-29,30-31,32-33", 1000));
+    }
+}
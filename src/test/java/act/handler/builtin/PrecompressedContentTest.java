@@ -0,0 +1,72 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.osgl.http.H.Header.Names.ACCEPT_ENCODING;
+
+import act.ActTestBase;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.IO;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+public class PrecompressedContentTest extends ActTestBase {
+
+    @Test
+    public void itShallMatchAcceptedEncoding() {
+        H.Request req = request("gzip, deflate, br");
+        yes(PrecompressedContent.accepts(req, "br"));
+        yes(PrecompressedContent.accepts(req, "gzip"));
+        no(PrecompressedContent.accepts(req, "zstd"));
+    }
+
+    @Test
+    public void itShallRespectZeroQuality() {
+        H.Request req = request("br;q=0, gzip;q=0.8");
+        no(PrecompressedContent.accepts(req, "br"));
+        yes(PrecompressedContent.accepts(req, "gzip"));
+    }
+
+    @Test
+    public void itShallAcceptWildcard() {
+        yes(PrecompressedContent.accepts(request("*"), "br"));
+        no(PrecompressedContent.accepts(request("identity"), "gzip"));
+        no(PrecompressedContent.accepts(request(null), "gzip"));
+    }
+
+    @Test
+    public void gzipShallRoundTrip() throws Exception {
+        byte[] content = "hello world, hello world, hello world".getBytes();
+        byte[] gzipped = PrecompressedContent.gzip(content, 0, content.length, 9);
+        byte[] unzipped = IO.readContent(new GZIPInputStream(new ByteArrayInputStream(gzipped)));
+        eq(new String(content), new String(unzipped));
+    }
+
+    private static H.Request request(String acceptEncoding) {
+        H.Request req = mock(H.Request.class);
+        when(req.header(ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        return req;
+    }
+}
@@ -0,0 +1,99 @@
+package act.handler.builtin;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.metric.Metric;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.IO;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+public class ResourceCacheTest extends ActTestBase {
+
+    @Test
+    public void itShallCountHitAndMiss() {
+        ResourceCache cache = new ResourceCache(100, false, Metric.NULL_METRIC);
+        isNull(cache.get("a"));
+        yes(cache.put("a", entry(10)));
+        notNull(cache.get("a"));
+        eq(1L, cache.hitCount());
+        eq(1L, cache.missCount());
+        eq(10L, cache.weight());
+    }
+
+    @Test
+    public void itShallNotCacheEntryExceedingCapacity() {
+        ResourceCache cache = new ResourceCache(100, false, Metric.NULL_METRIC);
+        no(cache.put("a", entry(101)));
+        eq(0, cache.size());
+        eq(0L, cache.weight());
+    }
+
+    @Test
+    public void itShallEvictWithinCapacity() {
+        ResourceCache cache = new ResourceCache(100, false, Metric.NULL_METRIC);
+        for (int i = 0; i < 10; ++i) {
+            cache.put("k" + i, entry(30));
+            yes(cache.weight() <= 100);
+        }
+        eq(3, cache.size());
+    }
+
+    @Test
+    public void itShallKeepRecentlyHitEntry() {
+        ResourceCache cache = new ResourceCache(100, false, Metric.NULL_METRIC);
+        cache.put("hot", entry(40));
+        cache.put("cold", entry(40));
+        notNull(cache.get("hot"));
+        cache.put("new", entry(40));
+        yes(cache.contains("hot"));
+        no(cache.contains("cold"));
+        yes(cache.contains("new"));
+    }
+
+    @Test
+    public void replacingEntryShallAdjustWeight() {
+        ResourceCache cache = new ResourceCache(100, false, Metric.NULL_METRIC);
+        cache.put("a", entry(40));
+        cache.put("a", entry(10));
+        eq(10L, cache.weight());
+    }
+
+    @Test
+    public void modifiedFileShallBeInvalidated() throws Exception {
+        File file = File.createTempFile("resource-cache", ".txt");
+        file.deleteOnExit();
+        IO.write("foo", file);
+        ResourceCache cache = new ResourceCache(100, true, Metric.NULL_METRIC);
+        cache.put("a", new ResourceCache.Entry(ByteBuffer.wrap("foo".getBytes()), H.Format.TXT, null, null, file));
+        notNull(cache.get("a"));
+        IO.write("foobar", file);
+        isNull(cache.get("a"));
+        eq(0L, cache.weight());
+    }
+
+    private static ResourceCache.Entry entry(int size) {
+        return new ResourceCache.Entry(ByteBuffer.allocate(size), H.Format.TXT, null, null, null);
+    }
+}
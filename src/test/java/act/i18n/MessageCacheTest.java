@@ -0,0 +1,81 @@
+package act.i18n;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.act_messages;
+import act.metric.Metric;
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class MessageCacheTest extends ActTestBase {
+
+    private static final String BUNDLE = act_messages.class.getName();
+
+    private MessageCache cache = new MessageCache(Metric.NULL_METRIC);
+    private ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void bundleShallBeLoadedOnce() {
+        MessageCache.Bundle bundle = cache.bundle(BUNDLE, Locale.ENGLISH, classLoader);
+        notNull(bundle);
+        same(bundle, cache.bundle(BUNDLE, Locale.ENGLISH, classLoader));
+        eq("Template code", bundle.get("error_page.template_code"));
+        eq(1, cache.bundleCount());
+    }
+
+    @Test
+    public void missingBundleShallBeRemembered() {
+        isNull(cache.bundle("act.no_such_bundle", Locale.ENGLISH, classLoader));
+        isNull(cache.bundle("act.no_such_bundle", Locale.ENGLISH, classLoader));
+        eq(1, cache.bundleCount());
+    }
+
+    @Test
+    public void bundlesOfRequestedLocalesShallBeBounded() {
+        for (int i = 0; i < MessageCache.MAX_BUNDLES * 2; ++i) {
+            notNull(cache.bundle(BUNDLE, new Locale("x" + i), classLoader));
+        }
+        yes(cache.bundleCount() <= MessageCache.MAX_BUNDLES);
+        eq(1, cache.flatMapCount());
+        eq("Template code", cache.bundle(BUNDLE, new Locale("y"), classLoader).get("error_page.template_code"));
+    }
+
+    @Test
+    public void messageShallBeCompiledOnce() {
+        MessageCache.Bundle bundle = cache.bundle(BUNDLE, Locale.ENGLISH, classLoader);
+        MessageCache.Message message = cache.message(bundle, "error.on_invoking");
+        same(message, cache.message(bundle, "error.on_invoking"));
+        eq("Error on invoking foo", message.format(new Object[]{"Error", "foo"}));
+        eq("NPE on invoking bar", message.format(new Object[]{"NPE", "bar"}));
+        isNull(cache.message(bundle, "no.such.key"));
+    }
+
+    @Test
+    public void itShallTryStringFormatFirst() {
+        MessageCache.Message message = new MessageCache.Message("%s is %d", Locale.ENGLISH);
+        eq("x is 5", message.format(new Object[]{"x", 5}));
+        message = new MessageCache.Message("{0} of {1}", Locale.ENGLISH);
+        eq("1 of 2", message.format(new Object[]{1, 2}));
+    }
+
+}
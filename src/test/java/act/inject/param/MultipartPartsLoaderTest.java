@@ -0,0 +1,59 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.data.MultipartParts;
+import act.util.ActContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MultipartPartsLoaderTest extends ActTestBase {
+
+    private MultipartPartsLoader loader;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        loader = new MultipartPartsLoader("parts");
+    }
+
+    @Test
+    public void itShallLoadPartsFromActionContext() {
+        MultipartParts parts = mock(MultipartParts.class);
+        when(mockActionContext.multipartParts()).thenReturn(parts);
+        same(parts, loader.load(null, mockActionContext, false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void itShallNotLoadOutsideOfHttpRequest() {
+        loader.load(null, mock(ActContext.class), false);
+    }
+
+    @Test
+    public void itShallReportBindName() {
+        eq("parts", loader.bindName());
+    }
+
+}
@@ -0,0 +1,76 @@
+package act.metric;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2020 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest extends ActTestBase {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void prepare() {
+        histogram = new LatencyHistogram(60L * 1000L * 1000L * 1000L, 6);
+    }
+
+    @Test
+    public void emptyHistogramShallReportZero() {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        eq(0L, snapshot.count());
+        eq(0L, snapshot.valueAt(99));
+    }
+
+    @Test
+    public void percentilesShallBeWithinPrecision() {
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        eq(1000L, snapshot.count());
+        eq(1000L * 1000L, snapshot.max());
+        assertWithin(500L * 1000L, snapshot.valueAt(50));
+        assertWithin(990L * 1000L, snapshot.valueAt(99));
+        eq(1000L * 1000L, snapshot.valueAt(100));
+    }
+
+    @Test
+    public void bucketShallCoverValue() {
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1000, 123456789L, LatencyHistogram.MAX_TRACKABLE};
+        for (long v : values) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(v));
+            yes(highest >= v);
+            yes(highest - v <= v / 32);
+        }
+    }
+
+    @Test
+    public void clearShallResetData() {
+        histogram.record(100L);
+        histogram.clear();
+        eq(0L, histogram.snapshot().count());
+    }
+
+    private void assertWithin(long expected, long actual) {
+        yes(Math.abs(actual - expected) <= expected / 32, "expected %s but got %s", expected, actual);
+    }
+}
@@ -53,4 +53,42 @@ public class SimpleMetricStoreTest extends ActTestBase {
         eq(2L, store.count("a:x"));
         eq(4L, store.count("a"));
     }
+
+    @Test
+    public void handleShallRecordToParentCounterAndTimer() {
+        MetricHandle handle = store.handle("a:b:c");
+        store.countOnce("a:x");
+        handle.countOnce();
+        eq(1L, store.count("a:b:c"));
+        eq(1L, store.count("a:b"));
+        eq(2L, store.count("a"));
+        Timer timer = handle.startTimer();
+        timer.stop();
+        eq(2L, store.count("a:b:c"));
+        eq(timer.ns(), store.ns("a:b:c"));
+        eq(timer.ns(), store.ns("a"));
+    }
+
+    @Test
+    public void handleShallKeepWorkingAfterClear() {
+        MetricHandle handle = store.handle("a:b");
+        handle.countOnce();
+        store.clear();
+        eq(0L, store.count("a:b"));
+        handle.countOnce();
+        eq(1L, store.count("a:b"));
+        eq(1L, store.count("a"));
+    }
+
+    @Test
+    public void classLoadingTimerShallNotKeepHistogram() {
+        MetricHandle handle = store.handle(MetricInfo.CLASS_LOADING + ":scan:Foo");
+        handle.startTimer().stop();
+        store.handle("a:b").startTimer().stop();
+        yes(store.count(MetricInfo.CLASS_LOADING + ":scan:Foo") > 0);
+        for (LatencyInfo info : store.latencies()) {
+            no(info.getName().startsWith(MetricInfo.CLASS_LOADING), info.getName());
+        }
+        no(store.latencies().isEmpty());
+    }
 }
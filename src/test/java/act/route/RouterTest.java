@@ -261,6 +261,27 @@ public class RouterTest extends RouterTestBase {
         verify(ctx).param(ParamNames.PATH, "foo/bar.txt");
     }
 
+    @Test
+    public void searchPartialUrlWithEmptyPathElements() {
+        router.addMapping(GET, "/public", staticDirHandler);
+        router.getInvoker(GET, "//public//foo///bar.txt/", ctx).handle(ctx);
+        verify(staticDirHandler).handle(ctx);
+        verify(ctx).param(ParamNames.PATH, "foo/bar.txt");
+    }
+
+    @Test
+    public void searchStaticUrlAmongSiblings() {
+        RequestHandler foo = Mockito.mock(NamedMockHandler.class);
+        router.addMapping(GET, "/foo", foo);
+        for (int i = 0; i < 100; ++i) {
+            router.addMapping(GET, "/foo" + i, controller);
+        }
+        same(foo, router.getInvoker(GET, "/foo", ctx));
+        same(controller, router.getInvoker(GET, "/foo42?foo=bar", ctx));
+        same(AlwaysNotFound.INSTANCE, router.getInvoker(GET, "/foo100", ctx));
+        same(foo, router.findStaticGetHandler("/foo/"));
+    }
+
     @Test
     public void routeWithStaticDir() {
         router.addMapping(GET, "/public", "file:/public");
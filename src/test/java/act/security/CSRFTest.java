@@ -0,0 +1,77 @@
+package act.security;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.inject.DependencyInjector;
+import act.util.MissingAuthenticationHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+
+import static org.mockito.Mockito.*;
+
+public class CSRFTest extends ActTestBase {
+
+    private CSRF.Spec spec;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        doReturn(mock(DependencyInjector.class)).when(mockApp).injector();
+        when(mockAppConfig.csrfEnabled()).thenReturn(true);
+        when(mockAppConfig.csrfParamName()).thenReturn("__csrf__");
+        when(mockAppConfig.csrfHeaderName()).thenReturn("X-Xsrf-Token");
+        when(mockActionContext.req()).thenReturn(mockReq);
+        when(mockActionContext.csrfFailureHandler()).thenReturn(mock(MissingAuthenticationHandler.class));
+        when(mockReq.method()).thenReturn(H.Method.POST);
+        spec = CSRF.spec(getClass().getDeclaredMethod("protectedAction"));
+    }
+
+    @Test
+    public void itShallLookupTokenInParams() {
+        when(mockActionContext.paramVal("__csrf__")).thenReturn("token");
+        spec.preCheck(mockActionContext);
+        verify(mockActionContext).setCsrfPrefetched("token");
+    }
+
+    @Test
+    public void headerOnlySpecShallNotLookupTokenInParams() {
+        CSRF.Spec headerOnly = spec.headerOnly();
+        notSame(spec, headerOnly);
+        headerOnly.preCheck(mockActionContext);
+        verify(mockActionContext, never()).paramVal(anyString());
+        verify(mockActionContext.csrfFailureHandler()).handle(mockActionContext);
+    }
+
+    @Test
+    public void headerOnlySpecShallLookupTokenInHeader() {
+        when(mockReq.header("X-Xsrf-Token")).thenReturn("token");
+        spec.headerOnly().preCheck(mockActionContext);
+        verify(mockActionContext).setCsrfPrefetched("token");
+        verify(mockActionContext, never()).paramVal(anyString());
+    }
+
+    @CSRF.Enable
+    private void protectedAction() {
+    }
+
+}
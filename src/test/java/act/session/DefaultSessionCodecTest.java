@@ -0,0 +1,145 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import act.ActTestBase;
+import act.conf.AppConfig;
+import act.crypto.RotateSecretCrypto;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.Codec;
+import org.osgl.util.Crypto;
+import org.osgl.util.S;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class DefaultSessionCodecTest extends ActTestBase {
+
+    private DefaultSessionCodec codec;
+
+    @Before
+    public void prepare() {
+        AppConfig config = mock(AppConfig.class);
+        when(config.sessionTtl()).thenReturn(0);
+        RotationSecretProvider secretProvider = mock(RotationSecretProvider.class);
+        when(secretProvider.rawSecret()).thenReturn("secret");
+        codec = new DefaultSessionCodec(config, new RotateSecretCrypto(secretProvider));
+    }
+
+    @Test
+    public void itShallResolveEncodedSession() {
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        session.put("hello", "world 你好 +%&=-*");
+        String cookie = codec.encodeSession(session);
+        H.Session session1 = codec.decodeSession(cookie, null);
+        eq("bar", session1.get("foo"));
+        eq("world 你好 +%&=-*", session1.get("hello"));
+        eq(session.id(), session1.id());
+    }
+
+    @Test
+    public void itShallEncodeSameAsSignThenUrlEncode() {
+        H.Session session = new H.Session();
+        session.put("hello", "world 你好 😀");
+        String cookie = codec.encodeSession(session);
+        S.Buffer buf = S.buffer();
+        for (Map.Entry<String, String> entry : session.entrySet()) {
+            if (buf.length() > 0) {
+                buf.append("\u0000");
+            }
+            buf.append(entry.getKey()).append("\u0001").append(entry.getValue());
+        }
+        String data = buf.toString();
+        String expected = Codec.encodeUrl(S.concat(sign(data), "-", data), StandardCharsets.UTF_8);
+        eq(expected, cookie);
+    }
+
+    @Test
+    public void itShallResolveCookieSignedWithSecret() {
+        String data = "foo\u0001bar\u0000x\u0001y z";
+        String cookie = Codec.encodeUrl(S.concat(sign(data), "-", data), StandardCharsets.UTF_8);
+        H.Session session = codec.decodeSession(cookie, null);
+        eq("bar", session.get("foo"));
+        eq("y z", session.get("x"));
+    }
+
+    @Test
+    public void itShallRejectTamperedSession() {
+        String data = "foo\u0001bar";
+        String cookie = Codec.encodeUrl(S.concat(sign(data), "-", data), StandardCharsets.UTF_8);
+        H.Session session = codec.decodeSession(cookie.replace("%01bar", "%01baz"), null);
+        isNull(session.get("foo"));
+        session = codec.decodeSession("%zz" + cookie, null);
+        isNull(session.get("foo"));
+    }
+
+    @Test
+    public void itShallReuseCookieOfUnchangedSession() {
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        String cookie = codec.encodeSession(session);
+        H.Session session1 = codec.decodeSession(cookie, null);
+        session1.put("foo", "bar");
+        yes(cookie == codec.encodeSession(session1));
+        session1.put("foo", "baz");
+        String cookie2 = codec.encodeSession(session1);
+        no(S.eq(cookie, cookie2));
+        eq("baz", codec.decodeSession(cookie2, null).get("foo"));
+    }
+
+    @Test
+    public void itShallResolveFlash() {
+        H.Flash flash = new H.Flash();
+        flash.put("error", "bad input");
+        String cookie = codec.encodeFlash(flash);
+        eq("bad input", codec.decodeFlash(cookie).get("error"));
+    }
+
+    @Test
+    public void itShallRestoreEncryptedSessionFromCache() {
+        AppConfig config = mock(AppConfig.class);
+        when(config.sessionTtl()).thenReturn(0);
+        when(config.encryptSession()).thenReturn(true);
+        when(config.sessionCacheSize()).thenReturn(10);
+        RotationSecretProvider secretProvider = mock(RotationSecretProvider.class);
+        when(secretProvider.rawSecret()).thenReturn("secret");
+        codec = new DefaultSessionCodec(config, new RotateSecretCrypto(secretProvider));
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        String cookie = codec.encodeSession(session);
+        H.Session session1 = codec.decodeSession(cookie, null);
+        session1.put("foo", "baz");
+        H.Session session2 = codec.decodeSession(cookie, null);
+        eq("bar", session2.get("foo"));
+        eq(session.id(), session2.id());
+    }
+
+    private static String sign(String data) {
+        return Crypto.sign(data, "secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,86 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.osgl.http.H.Session.KEY_EXPIRATION;
+
+import act.ActTestBase;
+import org.junit.Test;
+import org.osgl.http.H;
+
+public class VerifiedSessionCacheTest extends ActTestBase {
+
+    @Test
+    public void itShallRestoreCopyOfCachedSession() {
+        VerifiedSessionCache cache = new VerifiedSessionCache(10);
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        cache.put("cookie", session, 0, 1000);
+        session.put("foo", "baz");
+
+        H.Session restored = new H.Session();
+        yes(cache.restore("cookie", restored, 0, 1000));
+        eq("bar", restored.get("foo"));
+        restored.put("foo", "xyz");
+
+        H.Session restored2 = new H.Session();
+        yes(cache.restore("cookie", restored2, 0, 1000));
+        eq("bar", restored2.get("foo"));
+        no(cache.restore("other", new H.Session(), 0, 1000));
+    }
+
+    @Test
+    public void itShallMissAfterSecretRotated() {
+        VerifiedSessionCache cache = new VerifiedSessionCache(10);
+        cache.put("cookie", session(), 1, 1000);
+        no(cache.restore("cookie", new H.Session(), 2, 1000));
+        eq(0, cache.size());
+    }
+
+    @Test
+    public void itShallMissAfterSessionExpired() {
+        VerifiedSessionCache cache = new VerifiedSessionCache(10);
+        H.Session session = session();
+        session.put(KEY_EXPIRATION, 2000);
+        cache.put("cookie", session, 0, 1000);
+        yes(cache.restore("cookie", new H.Session(), 0, 1999));
+        no(cache.restore("cookie", new H.Session(), 0, 2001));
+    }
+
+    @Test
+    public void itShallEvictLeastRecentlyUsed() {
+        VerifiedSessionCache cache = new VerifiedSessionCache(2);
+        cache.put("a", session(), 0, 1000);
+        cache.put("b", session(), 0, 1000);
+        yes(cache.restore("a", new H.Session(), 0, 1000));
+        cache.put("c", session(), 0, 1000);
+        eq(2, cache.size());
+        yes(cache.restore("a", new H.Session(), 0, 1000));
+        no(cache.restore("b", new H.Session(), 0, 1000));
+    }
+
+    private static H.Session session() {
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        return session;
+    }
+
+}
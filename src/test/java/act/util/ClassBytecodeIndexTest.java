@@ -0,0 +1,101 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+import org.osgl.util.IO;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class ClassBytecodeIndexTest extends ActTestBase {
+
+    private static final byte[] FOO = {(byte) 0xCA, (byte) 0xFE, 1, 2, 3};
+    private static final byte[] BAR = {(byte) 0xCA, (byte) 0xFE, 4, 5};
+
+    private File jar;
+
+    @Before
+    public void prepare() throws Exception {
+        jar = File.createTempFile("class-bytecode-index", ".jar");
+        jar.deleteOnExit();
+        JarOutputStream os = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            os.putNextEntry(new JarEntry("foo/Foo.class"));
+            os.write(FOO);
+            os.closeEntry();
+            os.putNextEntry(new JarEntry("foo/Bar.class"));
+            os.write(BAR);
+            os.closeEntry();
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    @Test
+    public void bytecodeShallBeReadOnDemand() {
+        ClassBytecodeIndex index = Jars.buildClassIndex(C.list(jar));
+        eq(2, index.size());
+        yes(index.containsKey("foo.Foo"));
+        yes(Arrays.equals(FOO, index.get("foo.Foo")));
+        index.release();
+        yes(Arrays.equals(BAR, index.get("foo.Bar")));
+        isNull(index.get("foo.Baz"));
+        index.release();
+    }
+
+    @Test
+    public void removeShallReturnBytecode() {
+        ClassBytecodeIndex index = Jars.buildClassIndex(C.list(jar));
+        yes(Arrays.equals(FOO, index.remove("foo.Foo")));
+        no(index.containsKey("foo.Foo"));
+        index.keySet().remove("foo.Bar");
+        yes(index.isEmpty());
+        index.clear();
+    }
+
+    @Test
+    public void entrySetShallReadBytecode() throws Exception {
+        ClassBytecodeIndex index = Jars.buildClassIndex(C.list(jar));
+        File classFile = File.createTempFile("class-bytecode-index", ".class");
+        classFile.deleteOnExit();
+        IO.write(BAR, classFile);
+        index.add("foo.Baz", classFile);
+        index.put("foo.Qux", FOO);
+        int count = 0;
+        for (Map.Entry<String, byte[]> entry : index.entrySet()) {
+            count++;
+            String name = entry.getKey();
+            byte[] expected = "foo.Foo".equals(name) || "foo.Qux".equals(name) ? FOO : BAR;
+            yes(Arrays.equals(expected, entry.getValue()));
+        }
+        eq(4, count);
+        index.clear();
+    }
+
+}
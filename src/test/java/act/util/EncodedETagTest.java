@@ -0,0 +1,53 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+public class EncodedETagTest extends ActTestBase {
+
+    @Test
+    public void encodeQuotedTag() {
+        eq("\"abc-gzip\"", EncodedETag.encode("\"abc\"", "gzip"));
+        eq("W/\"abc-br\"", EncodedETag.encode("W/\"abc\"", "br"));
+    }
+
+    @Test
+    public void encodeUnquotedTag() {
+        eq("123-gzip", EncodedETag.encode("123", "gzip"));
+    }
+
+    @Test
+    public void decodeShallRevertEncode() {
+        eq("\"abc\"", EncodedETag.decode(EncodedETag.encode("\"abc\"", "gzip")));
+        eq("123", EncodedETag.decode(EncodedETag.encode("123", "br")));
+        eq("\"abc\",\"xyz\"", EncodedETag.decode("\"abc-gzip\", \"xyz\""));
+    }
+
+    @Test
+    public void decodeShallKeepOtherTags() {
+        eq("\"abc-def\"", EncodedETag.decode("\"abc-def\""));
+        eq("*", EncodedETag.decode("*"));
+        isNull(EncodedETag.decode(null));
+    }
+
+}
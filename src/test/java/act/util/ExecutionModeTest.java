@@ -0,0 +1,86 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ExecutionModeTest extends ActTestBase {
+
+    @Test
+    public void platformModeShallUseCallersOwnPool() {
+        isNull(ExecutionMode.PLATFORM.createExecutor("test", 4));
+    }
+
+    @Test
+    public void virtualModeShallRunTasks() throws Exception {
+        verifyExecutor(ExecutionMode.VIRTUAL.createExecutor("test", 2));
+    }
+
+    @Test
+    public void forkJoinModeShallRunTasks() throws Exception {
+        verifyExecutor(ExecutionMode.FORK_JOIN.createExecutor("test", 2));
+    }
+
+    @Test
+    public void forkJoinModeShallNotCapBlockingTasksAtParallelism() throws Exception {
+        ExecutorService executor = ExecutionMode.FORK_JOIN.createExecutor("test", 1);
+        try {
+            final CountDownLatch started = new CountDownLatch(2);
+            Callable<Boolean> task = new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    started.countDown();
+                    // blocks until the other task starts
+                    return started.await(10, TimeUnit.SECONDS);
+                }
+            };
+            Future<Boolean> f1 = executor.submit(task);
+            Future<Boolean> f2 = executor.submit(task);
+            yes(f1.get(20, TimeUnit.SECONDS));
+            yes(f2.get(20, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void verifyExecutor(ExecutorService executor) throws Exception {
+        notNull(executor);
+        try {
+            String name = executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return Thread.currentThread().getName();
+                }
+            }).get(10, TimeUnit.SECONDS);
+            yes(name.startsWith("test-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
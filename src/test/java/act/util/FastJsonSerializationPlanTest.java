@@ -0,0 +1,86 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import com.alibaba.fastjson.PropertyNamingStrategy;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class FastJsonSerializationPlanTest extends ActTestBase {
+
+    @Test
+    public void serializeConfigShallBeSharedByNamingStrategy() {
+        FastJsonSerializationPlan p1 = new FastJsonSerializationPlan(null, PropertyNamingStrategy.SnakeCase, null);
+        FastJsonSerializationPlan p2 = new FastJsonSerializationPlan(null, PropertyNamingStrategy.SnakeCase, "yyyy");
+        same(p1.serializeConfig(), p2.serializeConfig());
+        eq(PropertyNamingStrategy.SnakeCase, p1.serializeConfig().propertyNamingStrategy);
+        same(SerializeConfig.getGlobalInstance(), FastJsonSerializationPlan.DEFAULT.serializeConfig());
+    }
+
+    @Test
+    public void featuresShallBeCachedPerVariant() {
+        SerializerFeature[] handlerFeatures = {SerializerFeature.WriteMapNullValue};
+        FastJsonSerializationPlan plan = new FastJsonSerializationPlan(handlerFeatures, null, null);
+        SerializerFeature[] features = plan.features(true, false);
+        same(features, plan.features(true, false));
+        List<SerializerFeature> list = Arrays.asList(features);
+        yes(list.contains(SerializerFeature.WriteMapNullValue));
+        yes(list.contains(SerializerFeature.PrettyFormat));
+        yes(list.contains(SerializerFeature.WriteDateUseDateFormat));
+        no(list.contains(SerializerFeature.DisableCircularReferenceDetect));
+        yes(Arrays.asList(plan.features(false, true)).contains(SerializerFeature.DisableCircularReferenceDetect));
+    }
+
+    @Test
+    public void planShallMatchItsSettings() {
+        SerializerFeature[] features = {SerializerFeature.WriteMapNullValue};
+        FastJsonSerializationPlan plan = new FastJsonSerializationPlan(features, null, "yyyy");
+        yes(plan.matches(features, null, "yyyy"));
+        no(plan.matches(features, null, null));
+        no(plan.matches(null, null, "yyyy"));
+        same(FastJsonSerializationPlan.DEFAULT, FastJsonSerializationPlan.of(null));
+    }
+
+    @Test
+    public void dateFormatShallBeReusedInSameThread() {
+        same(FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", Locale.US), FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", Locale.US));
+        notSame(FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", Locale.US), FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", Locale.FRANCE));
+    }
+
+    @Test
+    public void dateFormatPoolsShallBeBounded() {
+        FastJsonSerializationPlan.reset();
+        for (int i = 0; i < FastJsonSerializationPlan.MAX_DATE_FORMATS; ++i) {
+            FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", new Locale("x" + i));
+        }
+        Locale locale = new Locale("y");
+        notSame(FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", locale), FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", locale));
+        same(FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", new Locale("x0")), FastJsonSerializationPlan.dateFormat("yyyy-MM-dd", new Locale("x0")));
+        FastJsonSerializationPlan.reset();
+    }
+
+}
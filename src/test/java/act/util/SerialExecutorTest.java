@@ -0,0 +1,133 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SerialExecutorTest extends ActTestBase {
+
+    @Test
+    public void tasksShallRunInOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SerialExecutor executor = new SerialExecutor(pool);
+            final List<Integer> result = new ArrayList<>();
+            final CountDownLatch latch = new CountDownLatch(1000);
+            for (int i = 0; i < 1000; ++i) {
+                final int n = i;
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        result.add(n);
+                        latch.countDown();
+                    }
+                });
+            }
+            yes(latch.await(10, TimeUnit.SECONDS));
+            eq(1000, result.size());
+            for (int i = 0; i < 1000; ++i) {
+                eq(i, result.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void failedTaskShallNotBlockFollowingTasks() {
+        SerialExecutor executor = new SerialExecutor(new DirectExecutor());
+        final List<String> result = new ArrayList<>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException();
+                }
+            });
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        eq(0, executor.size());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                result.add("ok");
+            }
+        });
+        eq(1, result.size());
+    }
+
+    @Test
+    public void rejectedTaskShallNotBlockFollowingTasks() {
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        SerialExecutor executor = new SerialExecutor(new DirectExecutor() {
+            @Override
+            public void execute(Runnable command) {
+                if (reject.get()) {
+                    throw new RejectedExecutionException();
+                }
+                super.execute(command);
+            }
+        });
+        final List<String> result = new ArrayList<>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    result.add("rejected");
+                }
+            });
+            fail("exception expected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        eq(0, executor.size());
+        reject.set(false);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                result.add("ok");
+            }
+        });
+        eq(1, result.size());
+        eq("ok", result.get(0));
+        eq(0, executor.size());
+    }
+
+    private static class DirectExecutor implements java.util.concurrent.Executor {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+}
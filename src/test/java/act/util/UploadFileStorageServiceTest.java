@@ -0,0 +1,109 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.apache.commons.fileupload.FileItemStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.storage.ISObject;
+import org.osgl.storage.IStorageService;
+import org.osgl.util.C;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UploadFileStorageServiceTest extends ActTestBase {
+
+    private File home;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        home = new File(System.getProperty("java.io.tmpdir"), "act-upload-" + S.random(8));
+        Map<String, String> conf = C.newMap("storage.fs.home.dir", home.getAbsolutePath());
+        conf.put(IStorageService.CONF_ID, "__upload_test");
+        conf.put("storage.storeSuffix", "false");
+        when(mockApp.uploadFileStorageService()).thenReturn(new UploadFileStorageService(conf, 2048));
+    }
+
+    @After
+    public void cleanUp() {
+        IO.delete(home, true);
+    }
+
+    @Test
+    public void smallContentShallBeKeptInMemory() throws Exception {
+        ISObject sobj = UploadFileStorageService.store(item("hello", null), mockApp);
+        eq("hello", sobj.asString());
+        eq(0, fileCount(home));
+    }
+
+    @Test
+    public void largeContentShallBeWrittenToFile() throws Exception {
+        String content = S.random(5000);
+        ISObject sobj = UploadFileStorageService.store(item(content, "a.txt"), mockApp);
+        eq(content, sobj.asString());
+        eq("a.txt", sobj.getFilename());
+        eq(1, fileCount(home));
+    }
+
+    @Test
+    public void contentAtThresholdShallBeKeptInMemory() throws Exception {
+        String content = S.random(2048);
+        ISObject sobj = UploadFileStorageService.store(item(content, null), mockApp);
+        eq(content, IO.readContentAsString(sobj.asInputStream()));
+        eq(0, fileCount(home));
+    }
+
+    @Test
+    public void emptyContentShallReturnNull() throws Exception {
+        isNull(UploadFileStorageService.store(item("", null), mockApp));
+    }
+
+    private static int fileCount(File dir) {
+        File[] files = dir.listFiles();
+        if (null == files) {
+            return 0;
+        }
+        int n = 0;
+        for (File file : files) {
+            n += file.isDirectory() ? fileCount(file) : 1;
+        }
+        return n;
+    }
+
+    private static FileItemStream item(String content, String filename) throws Exception {
+        FileItemStream item = mock(FileItemStream.class);
+        when(item.getName()).thenReturn(filename);
+        when(item.openStream()).thenReturn(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return item;
+    }
+
+}
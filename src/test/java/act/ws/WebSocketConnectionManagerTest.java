@@ -0,0 +1,178 @@
+package act.ws;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.xio.WebSocketConnection;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class WebSocketConnectionManagerTest extends ActTestBase {
+
+    private WebSocketConnectionManager manager;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        manager = new WebSocketConnectionManager(mockApp);
+    }
+
+    @Test
+    public void broadcastShallBatchConnectionsByIoThread() {
+        CountingExecutor io1 = new CountingExecutor();
+        CountingExecutor io2 = new CountingExecutor();
+        MockConnection c1 = new MockConnection(io1);
+        MockConnection c2 = new MockConnection(io1);
+        MockConnection c3 = new MockConnection(io2);
+        manager.broadcast("hello 你好", Arrays.asList(c1, c2, c3));
+        eq(1, io1.count);
+        eq(1, io2.count);
+        for (MockConnection conn : Arrays.asList(c1, c2, c3)) {
+            eq(1, conn.messages.size());
+            eq("hello 你好", conn.text(0));
+        }
+        same(c1.messages.get(0), c3.messages.get(0));
+    }
+
+    @Test
+    public void singleConnectionShallBeSentFromIoThreadToo() {
+        CountingExecutor io = new CountingExecutor();
+        MockConnection c1 = new MockConnection(io);
+        manager.broadcast("hi", Arrays.asList(c1));
+        eq(1, io.count);
+        eq("hi", c1.text(0));
+        yes(c1.messages.get(0).isReadOnly());
+    }
+
+    @Test
+    public void taggedMessageShallBeEncodedOnce() {
+        MockConnection c1 = new MockConnection(null);
+        MockConnection c2 = new MockConnection(null);
+        manager.tagRegistry().register("a", c1);
+        manager.tagRegistry().register("b", c2);
+        manager.sendToTagged("hi", "a", "b", "c");
+        eq("hi", c1.text(0));
+        eq("hi", c2.text(0));
+        same(c1.messages.get(0), c2.messages.get(0));
+    }
+
+    @Test
+    public void binaryMessageShallBeSentAsBinary() {
+        CountingExecutor io = new CountingExecutor();
+        MockConnection c1 = new MockConnection(io);
+        MockConnection c2 = new MockConnection(io);
+        ByteBuffer payload = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        manager.broadcastBinary(payload, Arrays.asList(c1, c2));
+        eq(1, io.count);
+        yes(c1.messages.isEmpty());
+        eq(1, c1.binaryMessages.size());
+        same(payload, c2.binaryMessages.get(0));
+        eq(3, payload.remaining());
+    }
+
+    private static class CountingExecutor implements Executor {
+        int count;
+
+        @Override
+        public void execute(Runnable command) {
+            count++;
+            command.run();
+        }
+    }
+
+    private static class MockConnection implements WebSocketConnection {
+        final Executor ioExecutor;
+        final List<ByteBuffer> messages = new ArrayList<>();
+        final List<ByteBuffer> binaryMessages = new ArrayList<>();
+
+        MockConnection(Executor ioExecutor) {
+            this.ioExecutor = ioExecutor;
+        }
+
+        String text(int i) {
+            ByteBuffer buffer = messages.get(i).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String sessionId() {
+            return null;
+        }
+
+        @Override
+        public String username() {
+            return null;
+        }
+
+        @Override
+        public void send(String message) {
+            sendText(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void sendText(ByteBuffer message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void sendBinary(ByteBuffer message) {
+            binaryMessages.add(message);
+        }
+
+        @Override
+        public Executor ioExecutor() {
+            return ioExecutor;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean closed() {
+            return false;
+        }
+
+        @Override
+        public void destroy() {
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return false;
+        }
+
+        @Override
+        public Class<? extends java.lang.annotation.Annotation> scope() {
+            return null;
+        }
+    }
+
+}
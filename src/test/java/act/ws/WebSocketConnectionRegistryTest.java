@@ -0,0 +1,113 @@
+package act.ws;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.xio.WebSocketConnection;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WebSocketConnectionRegistryTest extends ActTestBase {
+
+    private WebSocketConnectionRegistry registry;
+    private WebSocketConnection c1;
+    private WebSocketConnection c2;
+
+    @Before
+    public void prepare() {
+        registry = new WebSocketConnectionRegistry();
+        c1 = mock(WebSocketConnection.class);
+        c2 = mock(WebSocketConnection.class);
+    }
+
+    @Test
+    public void signOffShallRemoveConnectionFromAllKeys() {
+        registry.signIn("a", c1);
+        registry.signIn("b", c1);
+        registry.signIn("b", c2);
+        eq(3, registry.count());
+        registry.signOff(c1);
+        eq(0, registry.count("a"));
+        eq(1, registry.count("b"));
+        eq(1, registry.count());
+        same(c2, registry.get("b").get(0));
+    }
+
+    @Test
+    public void countShallTrackEveryChange() {
+        registry.signIn("a", c1);
+        registry.signIn("a", c1);
+        eq(1, registry.count());
+        registry.signIn("b", c1);
+        registry.signIn("b", c2);
+        registry.signOff("b", c1);
+        eq(2, registry.count());
+        registry.removeAll("b");
+        eq(1, registry.count());
+        when(c1.closed()).thenReturn(true);
+        yes(registry.get("a").isEmpty());
+        eq(0, registry.count());
+    }
+
+    @Test
+    public void keySignOffShallNotBreakFullSignOff() {
+        registry.signIn("a", c1);
+        registry.signOff("a", c1);
+        registry.signIn("b", c1);
+        registry.signOff(c1);
+        eq(0, registry.count("b"));
+        eq(0, registry.count());
+    }
+
+    @Test
+    public void concurrentSignInShallNotLeaveConnectionBehindSignOff() throws Exception {
+        final int rounds = 10000;
+        Thread signIn = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < rounds; ++i) {
+                    registry.signIn("k" + (i % 8), c1);
+                }
+            }
+        };
+        Thread signOff = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < rounds; ++i) {
+                    registry.signOff(c1);
+                }
+            }
+        };
+        signIn.start();
+        signOff.start();
+        signIn.join();
+        signOff.join();
+        registry.signOff(c1);
+        eq(0, registry.count());
+        for (int i = 0; i < 8; ++i) {
+            eq(0, registry.count("k" + i));
+        }
+    }
+
+}
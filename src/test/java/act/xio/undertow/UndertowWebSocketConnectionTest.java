@@ -0,0 +1,107 @@
+package act.xio.undertow;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import io.undertow.websockets.core.WebSocketChannel;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.xnio.XnioIoThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.*;
+
+public class UndertowWebSocketConnectionTest extends ActTestBase {
+
+    private static final int LIMIT = 10;
+
+    private WebSocketChannel channel;
+    private XnioIoThread ioThread;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        channel = mock(WebSocketChannel.class);
+        // the IO thread never runs the tasks, thus messages stay pending
+        ioThread = mock(XnioIoThread.class);
+        when(channel.getIoThread()).thenReturn(ioThread);
+        when(mockAppConfig.wsSendQueueLimit()).thenReturn(LIMIT);
+    }
+
+    @Test
+    public void itShallDropMessagesWhenSendQueueIsFull() throws Exception {
+        UndertowWebSocketConnection conn = new UndertowWebSocketConnection(channel, new H.Session());
+        for (int i = 0; i < LIMIT * 2; ++i) {
+            conn.send("hello");
+        }
+        verify(ioThread, times(LIMIT)).execute(any(Runnable.class));
+        no(conn.closed());
+        verify(channel, never()).sendClose();
+    }
+
+    @Test
+    public void itShallCloseConnectionWhenSendQueueIsFull() throws Exception {
+        when(mockAppConfig.wsSendQueueOverflowClose()).thenReturn(true);
+        UndertowWebSocketConnection conn = new UndertowWebSocketConnection(channel, new H.Session());
+        for (int i = 0; i < LIMIT; ++i) {
+            conn.send("hello");
+        }
+        no(conn.closed());
+        conn.send("hello");
+        yes(conn.closed());
+        verify(channel).sendClose();
+        verify(ioThread, times(LIMIT)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void concurrentSendersShallNotExceedSendQueueLimit() throws Exception {
+        final UndertowWebSocketConnection conn = new UndertowWebSocketConnection(channel, new H.Session());
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 100; ++j) {
+                        conn.send("hello");
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        verify(ioThread, times(LIMIT)).execute(any(Runnable.class));
+    }
+
+}